@@ -7,14 +7,33 @@ import org.bukkit.plugin.RegisteredServiceProvider;
 
 import com.example.kernel.commands.*;
 import com.example.kernel.listeners.*;
+import com.example.kernel.managers.AuditLog;
+import com.example.kernel.managers.ChatChannels;
+import com.example.kernel.managers.ChatFilter;
+import com.example.kernel.managers.ChatRateLimiter;
+import com.example.kernel.managers.NameIndex;
+import com.example.kernel.managers.PlayerGrid;
+import com.example.kernel.managers.PlaytimeTracker;
 import com.example.kernel.managers.ScoreboardManager;
+import com.example.kernel.managers.TrackIndex;
+import com.example.kernel.utils.ChatBroadcast;
+import com.example.kernel.utils.ColorUtils;
+import com.example.kernel.utils.Message;
 
 public class Kernel extends JavaPlugin {
     private LuckPerms luckPerms;
     private ScoreboardManager scoreboardManager;
+    private ChatFilter chatFilter;
+    private AuditLog auditLog;
+    private PlaytimeTracker playtimeTracker;
+    private NameIndex nameIndex;
+    private ChatRateLimiter chatRateLimiter;
 
     @Override
     public void onEnable() {
+        saveDefaultConfig();
+        ColorUtils.setCacheSize(getConfig().getInt("colors.cache-size", 512));
+        Message.load(getConfig().getConfigurationSection("messages"));
 
         // Setup LuckPerms integration
         RegisteredServiceProvider<LuckPerms> provider = getServer().getServicesManager()
@@ -23,23 +42,40 @@ public class Kernel extends JavaPlugin {
             luckPerms = provider.getProvider();
         }
 
-        scoreboardManager = new ScoreboardManager(this);
+        auditLog = new AuditLog(this);
+        ChatBroadcast.enable();
+
+        nameIndex = new NameIndex(this);
+        getServer().getPluginManager().registerEvents(nameIndex, this);
+
+        playtimeTracker = new PlaytimeTracker(this);
+        getServer().getPluginManager().registerEvents(playtimeTracker, this);
+
+        scoreboardManager = new ScoreboardManager(this, luckPerms, playtimeTracker);
         getServer().getPluginManager().registerEvents(scoreboardManager, this);
 
+        chatFilter = new ChatFilter(getConfig().getConfigurationSection("chat.filter"));
+        getServer().getPluginManager().registerEvents(chatFilter, this);
+
+        PlayerGrid playerGrid = new PlayerGrid();
+        getServer().getPluginManager().registerEvents(playerGrid, this);
+        ChatChannels chatChannels = new ChatChannels(playerGrid, getConfig().getDouble("chat.channels.local-radius", 100));
+        getServer().getPluginManager().registerEvents(chatChannels, this);
+
         // Register commands
         BroadcastCommand broadcastCommand = new BroadcastCommand();
         this.getCommand("broadcast").setExecutor(broadcastCommand);
         this.getCommand("broadcast").setTabCompleter(broadcastCommand);
 
-        PlaytimeCommand playtimeCommand = new PlaytimeCommand();
+        PlaytimeCommand playtimeCommand = new PlaytimeCommand(playtimeTracker, nameIndex);
         this.getCommand("playtime").setExecutor(playtimeCommand);
         this.getCommand("playtime").setTabCompleter(playtimeCommand);
 
-        VanishCommand vanishCommand = new VanishCommand();
+        VanishCommand vanishCommand = new VanishCommand(auditLog);
         this.getCommand("vanish").setExecutor(vanishCommand);
         this.getCommand("vanish").setTabCompleter(vanishCommand);
 
-        GodCommand godCommand = new GodCommand();
+        GodCommand godCommand = new GodCommand(auditLog);
         this.getCommand("god").setExecutor(godCommand);
         this.getCommand("god").setTabCompleter(godCommand);
 
@@ -55,15 +91,23 @@ public class Kernel extends JavaPlugin {
         this.getCommand("cleardrops").setExecutor(clearDropsCommand);
         this.getCommand("cleardrops").setTabCompleter(clearDropsCommand);
 
-        ChatControlCommands chatControl = new ChatControlCommands();
+        chatRateLimiter = new ChatRateLimiter(getConfig().getInt("chat.slow-mode", 5),
+                getConfig().getInt("chat.burst", 1));
+        getServer().getPluginManager().registerEvents(chatRateLimiter, this);
+
+        ChatControlCommands chatControl = new ChatControlCommands(chatRateLimiter);
         this.getCommand("chat").setExecutor(chatControl);
         this.getCommand("chat").setTabCompleter(chatControl);
 
-        RankCommand rankCommand = new RankCommand(luckPerms);
+        ChannelCommand channelCommand = new ChannelCommand(chatChannels);
+        this.getCommand("channel").setExecutor(channelCommand);
+        this.getCommand("channel").setTabCompleter(channelCommand);
+
+        RankCommand rankCommand = new RankCommand(this, luckPerms, auditLog, nameIndex, new TrackIndex(this, luckPerms));
         this.getCommand("rank").setExecutor(rankCommand);
         this.getCommand("rank").setTabCompleter(rankCommand);
         
-        GamemodeCommand gamemodeCommand = new GamemodeCommand();
+        GamemodeCommand gamemodeCommand = new GamemodeCommand(auditLog);
         this.getCommand("gm").setExecutor(gamemodeCommand);
         this.getCommand("gmc").setExecutor(gamemodeCommand);
         this.getCommand("gms").setExecutor(gamemodeCommand);
@@ -86,7 +130,7 @@ public class Kernel extends JavaPlugin {
         this.getCommand("speed").setExecutor(speedCommand);
         this.getCommand("speed").setTabCompleter(speedCommand);
 
-        MetricsCommand metricsCommand = new MetricsCommand();
+        MetricsCommand metricsCommand = new MetricsCommand(scoreboardManager, chatFilter);
         this.getCommand("metrics").setExecutor(metricsCommand);
         this.getCommand("metrics").setTabCompleter(metricsCommand);
 
@@ -102,18 +146,54 @@ public class Kernel extends JavaPlugin {
         this.getCommand("fly").setExecutor(flightCommand);
         this.getCommand("fly").setTabCompleter(flightCommand);
 
+        AuditCommand auditCommand = new AuditCommand(auditLog);
+        this.getCommand("audit").setExecutor(auditCommand);
+        this.getCommand("audit").setTabCompleter(auditCommand);
+
         GravityCommand gravityCommand = new GravityCommand();
         this.getCommand("gravity").setExecutor(gravityCommand);
         this.getCommand("gravity").setTabCompleter(gravityCommand);
+
+        KernelCommand kernelCommand = new KernelCommand(this);
+        this.getCommand("kernel").setExecutor(kernelCommand);
+        this.getCommand("kernel").setTabCompleter(kernelCommand);
         
         // Register listeners
-        getServer().getPluginManager().registerEvents(new ChatListener(chatControl, luckPerms), this);
+        getServer().getPluginManager().registerEvents(new ChatListener(this, chatControl, chatFilter, chatChannels, auditLog, playtimeTracker, luckPerms), this);
         getServer().getPluginManager().registerEvents(new PlayerJoinLeave(), this);
         getServer().getPluginManager().registerEvents(new MOTDListener(), this);
     }
 
+    /**
+     * Reloads config.yml and applies the parts that can change at runtime.
+     *
+     * @return false if the new scoreboard layout was rejected
+     */
+    public boolean reload() {
+        reloadConfig();
+        ColorUtils.setCacheSize(getConfig().getInt("colors.cache-size", 512));
+        Message.load(getConfig().getConfigurationSection("messages"));
+        chatFilter.load(getConfig().getConfigurationSection("chat.filter"));
+        chatRateLimiter.setIntervalSeconds(getConfig().getInt("chat.slow-mode", 5));
+        chatRateLimiter.setBurst(getConfig().getInt("chat.burst", 1));
+        return scoreboardManager.reloadLayout();
+    }
+
     @Override
     public void onDisable() {
+        if (scoreboardManager != null) {
+            scoreboardManager.shutdown();
+        }
+        if (playtimeTracker != null) {
+            playtimeTracker.shutdown();
+        }
+        if (nameIndex != null) {
+            nameIndex.shutdown();
+        }
+        if (auditLog != null) {
+            auditLog.close();
+        }
+        ChatBroadcast.disable();
         getLogger().info("Kernel disabled!");
     }
 }
\ No newline at end of file
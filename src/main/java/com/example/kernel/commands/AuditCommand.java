@@ -0,0 +1,102 @@
+package com.example.kernel.commands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+
+import com.example.kernel.managers.AuditLog;
+import com.example.kernel.utils.Message;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class AuditCommand implements CommandExecutor, TabCompleter {
+    private static final int MAX_RESULTS = 15;
+
+    private final AuditLog auditLog;
+
+    public AuditCommand(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 0) {
+            Message.USAGE.send(sender, "/" + label + " <player|*> [time, e.g. 30m, 12h, 7d]");
+            return true;
+        }
+
+        String player = args[0].equals("*") ? null : args[0];
+        String period = args.length > 1 ? args[1] : "24h";
+        long periodMillis = parsePeriod(period);
+        if (periodMillis <= 0) {
+            Message.AUDIT_INVALID_TIME.send(sender, period);
+            return true;
+        }
+
+        auditLog.search(player, System.currentTimeMillis() - periodMillis, MAX_RESULTS, lines -> {
+            if (lines.isEmpty()) {
+                Message.AUDIT_EMPTY.send(sender, args[0], period);
+                return;
+            }
+
+            Message.AUDIT_HEADER.send(sender, args[0], period);
+            for (String line : lines) {
+                Message.AUDIT_LINE.send(sender, line);
+            }
+        });
+        return true;
+    }
+
+    // 30m, 12h, 7d... in milliseconds, or -1 if invalid
+    private long parsePeriod(String period) {
+        if (period.length() < 2) {
+            return -1;
+        }
+
+        long amount;
+        try {
+            amount = Long.parseLong(period.substring(0, period.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+
+        switch (Character.toLowerCase(period.charAt(period.length() - 1))) {
+            case 's':
+                return TimeUnit.SECONDS.toMillis(amount);
+            case 'm':
+                return TimeUnit.MINUTES.toMillis(amount);
+            case 'h':
+                return TimeUnit.HOURS.toMillis(amount);
+            case 'd':
+                return TimeUnit.DAYS.toMillis(amount);
+            default:
+                return -1;
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 1) {
+            List<String> names = Bukkit.getOnlinePlayers().stream()
+                    .map(Player::getName)
+                    .filter(name -> name.toLowerCase().startsWith(args[0].toLowerCase()))
+                    .collect(Collectors.toList());
+            names.add("*");
+            return names;
+        }
+
+        if (args.length == 2) {
+            return Arrays.asList("30m", "1h", "24h", "7d").stream()
+                    .filter(period -> period.startsWith(args[1]))
+                    .collect(Collectors.toList());
+        }
+        return new ArrayList<>();
+    }
+}
@@ -1,11 +1,11 @@
 package com.example.kernel.commands;
 
-import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 
+import com.example.kernel.utils.ChatBroadcast;
 import com.example.kernel.utils.ColorUtils;
 import com.example.kernel.utils.Constants;
 
@@ -16,15 +16,14 @@ public class BroadcastCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/broadcast <message>"));
+            sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/broadcast <message>"));
             return true;
         }
 
         String message = String.join(" ", args);
 
-        Bukkit.broadcastMessage("");
-        Bukkit.broadcastMessage(" " + message);
-        Bukkit.broadcastMessage("");
+        // Blank line above and below, sent as one message per player
+        ChatBroadcast.broadcastLines("", " " + message, "");
         return true;
     }
     
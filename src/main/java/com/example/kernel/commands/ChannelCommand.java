@@ -0,0 +1,69 @@
+package com.example.kernel.commands;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+
+import com.example.kernel.managers.ChatChannels;
+import com.example.kernel.managers.ChatChannels.Channel;
+import com.example.kernel.utils.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChannelCommand implements CommandExecutor, TabCompleter {
+    private final ChatChannels chatChannels;
+
+    public ChannelCommand(ChatChannels chatChannels) {
+        this.chatChannels = chatChannels;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!(sender instanceof Player)) {
+            Message.PLAYER_ONLY.send(sender);
+            return true;
+        }
+
+        Player player = (Player) sender;
+        if (args.length == 0) {
+            Message.CHANNEL_CURRENT.send(player, chatChannels.getChannel(player).getName());
+            return true;
+        }
+
+        Channel channel = null;
+        for (Channel candidate : Channel.values()) {
+            if (candidate.getName().equalsIgnoreCase(args[0])) {
+                channel = candidate;
+            }
+        }
+
+        if (channel == null) {
+            Message.USAGE.send(player, "/" + label + " <global|staff|local>");
+            return true;
+        }
+        if (!channel.canUse(player)) {
+            Message.CHANNEL_NO_PERMISSION.send(player, channel.getName());
+            return true;
+        }
+
+        chatChannels.setChannel(player, channel);
+        Message.CHANNEL_SWITCHED.send(player, channel.getName());
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1 && sender instanceof Player) {
+            for (Channel channel : Channel.values()) {
+                if (channel.canUse((Player) sender) && channel.getName().startsWith(args[0].toLowerCase())) {
+                    completions.add(channel.getName());
+                }
+            }
+        }
+        return completions;
+    }
+}
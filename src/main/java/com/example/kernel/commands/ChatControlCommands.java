@@ -7,20 +7,29 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import com.example.kernel.managers.ChatRateLimiter;
+import com.example.kernel.utils.ChatBroadcast;
 import com.example.kernel.utils.ColorUtils;
 import com.example.kernel.utils.Constants;
+import com.example.kernel.utils.Message;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class ChatControlCommands implements CommandExecutor, TabCompleter {
-    private boolean isChatMuted = false;
-    private int slowMode = 5; // Seconds between messages - base 5 seconds
-    private final HashMap<UUID, Long> lastMessageTime = new HashMap<>();
+    // 100 blank lines, pushing everything off the chat window
+    private static final String CLEAR_LINES = buildClearLines();
+
+    // Read by the async chat threads
+    private volatile boolean isChatMuted = false;
+    private final ChatRateLimiter rateLimiter;
+
+    public ChatControlCommands(ChatRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
@@ -42,14 +51,14 @@ public class ChatControlCommands implements CommandExecutor, TabCompleter {
                 break;
             case "slow":
                 if (args.length < 2) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/chat slow <seconds>"));
+                    sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/chat slow <seconds>"));
                     return true;
                 }
                 try {
                     int seconds = Integer.parseInt(args[1]);
                     setSlowMode(sender, seconds);
                 } catch (NumberFormatException e) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Invalid number format!"));
+                    sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Invalid number format!"));
                 }
                 break;
             default:
@@ -60,30 +69,27 @@ public class ChatControlCommands implements CommandExecutor, TabCompleter {
     }
 
     private void showHelp(CommandSender sender) {
-        sender.sendMessage(ColorUtils.translateColorCodes("&#c6b78f&lC&#c3b28a&lO&#c0ae86&lM&#bda981&lM&#baa57d&lA&#b7a078&lN&#b49c74&lD&#b1976f&lS &#ae936b&lL&#ab8e66&lI&#a88a62&lS&#a5855d&lT"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/chat clear &8- &7Clear the chat"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/chat mute &8- &7Toggle chat mute"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/chat slow <seconds> &8- &7Set chat slow mode"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/chat help &8- &7Show this help message"));
+        sender.sendMessage(ColorUtils.translateCached("&#c6b78f&lC&#c3b28a&lO&#c0ae86&lM&#bda981&lM&#baa57d&lA&#b7a078&lN&#b49c74&lD&#b1976f&lS &#ae936b&lL&#ab8e66&lI&#a88a62&lS&#a5855d&lT"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/chat clear &8- &7Clear the chat"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/chat mute &8- &7Toggle chat mute"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/chat slow <seconds> &8- &7Set chat slow mode"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/chat help &8- &7Show this help message"));
     }
 
     private void clearChat(CommandSender sender) {
         if (!sender.hasPermission("kernel.chat.clear")) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You don't have permission to clear the chat."));
+            sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7You don't have permission to clear the chat."));
             return;
         }
 
-        // Send 100 blank lines to clear chat
-        for (int i = 0; i < 100; i++) {
-            Bukkit.broadcastMessage("");
-        }
-        
-        Bukkit.broadcastMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Chat has been cleared by " + Constants.PRIMARY + sender.getName() + "."));
+        // Blank lines and notice go out as one message per player
+        ChatBroadcast.broadcastLines(CLEAR_LINES,
+            ColorUtils.translateColorCodes(Constants.PREFIX + "&7Chat has been cleared by " + Constants.PRIMARY + sender.getName() + "."));
     }
 
     private void toggleMute(CommandSender sender) {
         if (!sender.hasPermission("kernel.chat.mute")) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You don't have permission to mute the chat."));
+            sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7You don't have permission to mute the chat."));
             return;
         }
 
@@ -94,16 +100,16 @@ public class ChatControlCommands implements CommandExecutor, TabCompleter {
 
     private void setSlowMode(CommandSender sender, int seconds) {
         if (!sender.hasPermission("kernel.chat.slow")) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You don't have permission to set slow mode."));
+            sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7You don't have permission to set slow mode."));
             return;
         }
 
         if (seconds < 0) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Slow mode time cannot be &cnegative."));
+            sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Slow mode time cannot be &cnegative."));
             return;
         }
 
-        slowMode = seconds;
+        rateLimiter.setIntervalSeconds(seconds);
         if (seconds == 0) {
             Bukkit.broadcastMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Chat slow mode has been &cdisabled &7by " + Constants.PRIMARY + sender.getName() + "."));
         } else {
@@ -117,26 +123,28 @@ public class ChatControlCommands implements CommandExecutor, TabCompleter {
         }
 
         if (isChatMuted) {
-            player.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Chat is currently muted."));
+            Message.CHAT_MUTED.send(player);
             return false;
         }
 
-        if (slowMode > 0) {
-            long currentTime = System.currentTimeMillis();
-            long lastMessage = lastMessageTime.getOrDefault(player.getUniqueId(), 0L);
-            
-            if (currentTime - lastMessage < slowMode * 1000) {
-                int remainingSeconds = (int) ((slowMode * 1000 - (currentTime - lastMessage)) / 1000);
-                player.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Wait " + Constants.PRIMARY + remainingSeconds + " &7seconds before sending another message."));
-                return false;
-            }
-            
-            lastMessageTime.put(player.getUniqueId(), currentTime);
+        long wait = rateLimiter.tryAcquire(player.getUniqueId());
+        if (wait > 0) {
+            // Rounded up so the last second never reads as 0
+            Message.CHAT_SLOW_WAIT.send(player, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            return false;
         }
 
         return true;
     }
 
+    private static String buildClearLines() {
+        StringBuilder lines = new StringBuilder(100);
+        for (int i = 1; i < 100; i++) {
+            lines.append('\n');
+        }
+        return lines.toString();
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
@@ -57,7 +57,7 @@ public class FeedHealCommands implements CommandExecutor, TabCompleter {
         target.setSaturation(20f); // Max saturation
         
         if (sender == target) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You have been fed."));
+            sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7You have been fed."));
         } else {
             sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Fed " + Constants.PRIMARY + target.getName() + "&7."));
             target.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You have been fed by " + Constants.PRIMARY + sender.getName() + "&7."));
@@ -72,7 +72,7 @@ public class FeedHealCommands implements CommandExecutor, TabCompleter {
         target.getActivePotionEffects().forEach(effect -> target.removePotionEffect(effect.getType())); // Remove all potion effects
         
         if (sender == target) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You have been healed."));
+            sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7You have been healed."));
         } else {
             sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Healed " + Constants.PRIMARY + target.getName() + "&7."));
             target.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You have been healed by " + Constants.PRIMARY + sender.getName() + "&7."));
@@ -20,7 +20,7 @@ public class FlightCommand implements CommandExecutor, TabCompleter {
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
             if (!(sender instanceof Player)) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/fly <player>"));
+                sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/fly <player>"));
                 return true;
             }
             
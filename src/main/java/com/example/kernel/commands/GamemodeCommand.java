@@ -8,6 +8,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import com.example.kernel.managers.AuditLog;
 import com.example.kernel.utils.ColorUtils;
 import com.example.kernel.utils.Constants;
 
@@ -17,6 +18,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class GamemodeCommand implements CommandExecutor, TabCompleter {
+    private final AuditLog auditLog;
+
+    public GamemodeCommand(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
@@ -81,7 +87,7 @@ public class GamemodeCommand implements CommandExecutor, TabCompleter {
             }
         } else {
             if (!(sender instanceof Player)) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Console must specify a player."));
+                sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Console must specify a player."));
                 return true;
             }
             target = (Player) sender;
@@ -89,6 +95,7 @@ public class GamemodeCommand implements CommandExecutor, TabCompleter {
 
         // Set gamemode
         target.setGameMode(mode);
+        auditLog.log(AuditLog.Type.ACTION, sender.getName(), target.getName(), "gamemode " + formatGameMode(mode));
 
         // Send messages
         if (sender == target) {
@@ -108,12 +115,12 @@ public class GamemodeCommand implements CommandExecutor, TabCompleter {
     }
 
     private void showHelp(CommandSender sender) {
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage:"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/gm <mode> [player] &8- &7Set gamemode"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/gmc [player] &8- &7Creative mode"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/gms [player] &8- &7Survival mode"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/gmsp [player] &8- &7Spectator mode"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/gma [player] &8- &7Adventure mode"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Usage:"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/gm <mode> [player] &8- &7Set gamemode"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/gmc [player] &8- &7Creative mode"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/gms [player] &8- &7Survival mode"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/gmsp [player] &8- &7Spectator mode"));
+        sender.sendMessage(ColorUtils.translateCached(Constants.PRIMARY + "/gma [player] &8- &7Adventure mode"));
     }
 
     @Override
@@ -29,7 +29,7 @@ public class GetPositionCommand implements CommandExecutor, TabCompleter {
             }
         } else {
             if (!(sender instanceof Player)) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/getpos <player>"));
+                sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/getpos <player>"));
                 return true;
             }
             target = (Player) sender;
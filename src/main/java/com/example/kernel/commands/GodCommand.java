@@ -7,20 +7,25 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
-import com.example.kernel.utils.ColorUtils;
-import com.example.kernel.utils.Constants;
+import com.example.kernel.managers.AuditLog;
+import com.example.kernel.utils.Message;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class GodCommand implements CommandExecutor, TabCompleter {
+    private final AuditLog auditLog;
+
+    public GodCommand(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
             if (!(sender instanceof Player)) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/god <player>"));
+                Message.USAGE.send(sender, "/god <player>");
                 return true;
             }
 
@@ -31,7 +36,7 @@ public class GodCommand implements CommandExecutor, TabCompleter {
 
         Player target = Bukkit.getPlayer(args[0]);
         if (target == null) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player not found: " + Constants.PRIMARY + args[0]));
+            Message.PLAYER_NOT_FOUND.send(sender, args[0]);
             return true;
         }
 
@@ -42,19 +47,20 @@ public class GodCommand implements CommandExecutor, TabCompleter {
     private void toggleGodMode(CommandSender sender, Player target) {
         boolean isGodMode = !target.isInvulnerable();
         target.setInvulnerable(isGodMode);
+        auditLog.log(AuditLog.Type.ACTION, sender.getName(), target.getName(), "god " + (isGodMode ? "on" : "off"));
 
-        String status = isGodMode ? "&aenabled." : "&cdisabled.";
+        String status = (isGodMode ? Message.ENABLED : Message.DISABLED).format();
         
         // Message to the target
         if (sender != target) {
-            target.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Your god mode has been " + status));
+            Message.GOD_TARGET.send(target, status);
         }
         
         // Message to the sender
         if (sender == target) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7God mode has been " + status));
+            Message.GOD_SELF.send(sender, status);
         } else {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7God mode for " + Constants.PRIMARY + target.getName() + " &7has been " + status));
+            Message.GOD_OTHER.send(sender, target.getName(), status);
         }
     }
 
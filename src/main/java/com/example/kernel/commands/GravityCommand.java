@@ -8,8 +8,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
-import com.example.kernel.utils.ColorUtils;
-import com.example.kernel.utils.Constants;
+import com.example.kernel.utils.Message;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,8 +21,8 @@ public class GravityCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/gravity <value> [player]"));
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Base gravity value is " + Constants.PRIMARY + "0.08."));
+            Message.USAGE.send(sender, "/gravity <value> [player]");
+            Message.GRAVITY_BASE.send(sender);
             return true;
         }
 
@@ -31,13 +30,13 @@ public class GravityCommand implements CommandExecutor, TabCompleter {
             double gravity = Double.parseDouble(args[0]);
             
             if (gravity < 0 || gravity > 0.16) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Gravity must be between " + Constants.PRIMARY + "0 and 0.16."));
+                Message.GRAVITY_RANGE.send(sender);
                 return true;
             }
 
             if (args.length == 1) {
                 if (!(sender instanceof Player)) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&cConsole must specify a player."));
+                    Message.CONSOLE_NEEDS_PLAYER.send(sender);
                     return true;
                 }
                 setGravity((Player) sender, gravity, sender);
@@ -46,7 +45,7 @@ public class GravityCommand implements CommandExecutor, TabCompleter {
 
             Player target = Bukkit.getPlayer(args[1]);
             if (target == null) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player not found: " + Constants.PRIMARY + args[1]));
+                Message.PLAYER_NOT_FOUND.send(sender, args[1]);
                 return true;
             }
 
@@ -54,7 +53,7 @@ public class GravityCommand implements CommandExecutor, TabCompleter {
             return true;
 
         } catch (NumberFormatException e) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Invalid gravity value."));
+            Message.GRAVITY_INVALID.send(sender);
             return true;
         }
     }
@@ -76,10 +75,10 @@ public class GravityCommand implements CommandExecutor, TabCompleter {
         }
 
         if (sender == target) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Your gravity has been set to " + Constants.PRIMARY + gravity + " &7(" + gravityDesc + ")."));
+            Message.GRAVITY_SELF.send(sender, gravity, gravityDesc);
         } else {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Set gravity of " + Constants.PRIMARY + target.getName() + " &7to " + Constants.PRIMARY + gravity + " &7(" + gravityDesc + ")."));
-            target.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Your gravity has been set to " + Constants.PRIMARY + gravity + " &7(" + gravityDesc + ")."));
+            Message.GRAVITY_OTHER.send(sender, target.getName(), gravity, gravityDesc);
+            Message.GRAVITY_SELF.send(target, gravity, gravityDesc);
         }
     }
 
@@ -0,0 +1,44 @@
+package com.example.kernel.commands;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import com.example.kernel.Kernel;
+import com.example.kernel.utils.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class KernelCommand implements CommandExecutor, TabCompleter {
+    private final Kernel plugin;
+
+    public KernelCommand(Kernel plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length != 1 || !args[0].equalsIgnoreCase("reload")) {
+            Message.USAGE.send(sender, "/" + label + " reload");
+            return true;
+        }
+
+        if (plugin.reload()) {
+            Message.CONFIG_RELOADED.send(sender);
+        } else {
+            Message.LAYOUT_INVALID.send(sender);
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1 && "reload".startsWith(args[0].toLowerCase())) {
+            completions.add("reload");
+        }
+        return completions;
+    }
+}
@@ -7,6 +7,8 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import com.example.kernel.managers.ChatFilter;
+import com.example.kernel.managers.ScoreboardManager;
 import com.example.kernel.utils.ColorUtils;
 import com.example.kernel.utils.Constants;
 
@@ -14,6 +16,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class MetricsCommand implements CommandExecutor, TabCompleter {
+    private final ScoreboardManager scoreboardManager;
+    private final ChatFilter chatFilter;
+
+    public MetricsCommand(ScoreboardManager scoreboardManager, ChatFilter chatFilter) {
+        this.scoreboardManager = scoreboardManager;
+        this.chatFilter = chatFilter;
+    }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
@@ -32,6 +41,20 @@ public class MetricsCommand implements CommandExecutor, TabCompleter {
             "",
             "&7TPS (1m, 5m, 15m):",
             "  " + Constants.PRIMARY + "%server_tps_1_colored%, %server_tps_5_colored%, %server_tps_15_colored%",
+            "",
+            "&7Scoreboard (cost per tick):",
+            formatShardCosts(),
+            "  &7Boards: " + Constants.PRIMARY + scoreboardManager.getLiveBoards() + " live &7("
+                + scoreboardManager.getActiveBoards() + " in use, " + scoreboardManager.getPooledBoards() + " pooled)",
+            "",
+            "&7Color cache:",
+            formatColorCache(),
+            "",
+            "&7Chat filter (avg per message):",
+            "  &7Patterns: " + Constants.PRIMARY + formatMicros(chatFilter.getAverageNanos(ChatFilter.Stage.PATTERNS))
+                + " &7Duplicates: " + Constants.PRIMARY + formatMicros(chatFilter.getAverageNanos(ChatFilter.Stage.DUPLICATES))
+                + " &7Caps: " + Constants.PRIMARY + formatMicros(chatFilter.getAverageNanos(ChatFilter.Stage.CAPS)),
+            "  &7Checked: " + Constants.PRIMARY + chatFilter.getChecked() + " &7Blocked: " + Constants.PRIMARY + chatFilter.getBlocked(),
             "&8&m                                                &r"
         );
 
@@ -49,6 +72,49 @@ public class MetricsCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private String formatShardCosts() {
+        long[] nanos = scoreboardManager.getShardNanos();
+        long total = 0;
+        int slowest = 0;
+        StringBuilder perShard = new StringBuilder("  &8");
+
+        for (int i = 0; i < nanos.length; i++) {
+            total += nanos[i];
+            if (nanos[i] > nanos[slowest]) {
+                slowest = i;
+            }
+            if (i > 0) {
+                perShard.append(' ');
+            }
+            perShard.append(nanos[i] / 1000);
+        }
+        perShard.append(" µs");
+
+        return String.format("  &7Avg: %s%.3fms &7Max: %s%.3fms &7(shard %d, %d players)\n%s",
+            Constants.PRIMARY, total / (double) nanos.length / 1_000_000,
+            Constants.PRIMARY, nanos[slowest] / 1_000_000.0,
+            slowest, scoreboardManager.getShardSize(slowest),
+            perShard);
+    }
+
+    private static String formatMicros(long nanos) {
+        return String.format("%.1fµs", nanos / 1000.0);
+    }
+
+    private String formatColorCache() {
+        if (ColorUtils.getCacheSize() == 0) {
+            return "  &7Disabled";
+        }
+
+        long hits = ColorUtils.getCacheHits();
+        long lookups = hits + ColorUtils.getCacheMisses();
+        return String.format("  &7Entries: %s%d/%d &7Hits: %s%d &7Misses: %s%d &7(%.1f%% hit rate)",
+            Constants.PRIMARY, ColorUtils.getCachedCount(), ColorUtils.getCacheSize(),
+            Constants.PRIMARY, hits,
+            Constants.PRIMARY, lookups - hits,
+            lookups > 0 ? hits * 100.0 / lookups : 0.0);
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         return new ArrayList<>();
@@ -1,45 +1,61 @@
 package com.example.kernel.commands;
 
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import com.example.kernel.managers.NameIndex;
+import com.example.kernel.managers.PlaytimeTracker;
 import com.example.kernel.utils.ColorUtils;
 import com.example.kernel.utils.Constants;
+import com.example.kernel.utils.Message;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class PlaytimeCommand implements CommandExecutor, TabCompleter {
+    private static final int PAGE_SIZE = 10;
+
+    private final PlaytimeTracker playtimeTracker;
+    private final NameIndex nameIndex;
+
+    public PlaytimeCommand(PlaytimeTracker playtimeTracker, NameIndex nameIndex) {
+        this.playtimeTracker = playtimeTracker;
+        this.nameIndex = nameIndex;
+    }
+
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
             if (!(sender instanceof Player)) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/playtime <player>"));
+                sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/playtime <player|top>"));
                 return true;
             }
             
             Player player = (Player) sender;
             showPlaytime(sender, player);
             return true;
+        } else if (args[0].equalsIgnoreCase("top")) {
+            showTop(sender, label, args);
+            return true;
         } else {
             String targetName = args[0];
             Player target = Bukkit.getPlayer(targetName);
 
             if (target == null) {
                 // Check if player has played before
-                OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(targetName);
-                if (!offlinePlayer.hasPlayedBefore()) {
+                UUID uuid = nameIndex.getUniqueId(targetName);
+                if (uuid == null || playtimeTracker.getPlaytime(uuid) < 0) {
                     sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player not found: " + Constants.PRIMARY + targetName));
                     return true;
                 }
-                showOfflinePlaytime(sender, offlinePlayer);
+                showOfflinePlaytime(sender, uuid, nameIndex.getName(uuid));
                 return true;
             }
 
@@ -48,25 +64,48 @@ public class PlaytimeCommand implements CommandExecutor, TabCompleter {
         }
     }
 
-    private void showOfflinePlaytime(CommandSender sender, OfflinePlayer target) {
-        String playtime = String.format("%sd, %sh, %sm, %ss",
-            PlaceholderAPI.setPlaceholders(target, "%statistic_time_played:days%"),
-            PlaceholderAPI.setPlaceholders(target, "%statistic_time_played:hours%"),
-            PlaceholderAPI.setPlaceholders(target, "%statistic_time_played:minutes%"),
-            PlaceholderAPI.setPlaceholders(target, "%statistic_time_played:seconds%")
-        );
+    private void showTop(CommandSender sender, String label, String[] args) {
+        int page = 1;
+        if (args.length > 1) {
+            try {
+                page = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                page = 0;
+            }
+            if (page < 1) {
+                Message.USAGE.send(sender, "/" + label + " top [page]");
+                return;
+            }
+        }
+
+        int ranked = playtimeTracker.getRankedCount();
+        if (ranked == 0) {
+            Message.PLAYTIME_TOP_EMPTY.send(sender);
+            return;
+        }
+
+        int pages = (ranked + PAGE_SIZE - 1) / PAGE_SIZE;
+        page = Math.min(page, pages);
+        int offset = (page - 1) * PAGE_SIZE;
+
+        Message.PLAYTIME_TOP_HEADER.send(sender, page, pages);
+        int rank = offset;
+        for (Map.Entry<UUID, Long> entry : playtimeTracker.getTop(offset, PAGE_SIZE)) {
+            String name = nameIndex.getName(entry.getKey());
+            Message.PLAYTIME_TOP_LINE.send(sender, ++rank, name != null ? name : entry.getKey().toString(),
+                    PlaytimeTracker.format(entry.getValue(), false));
+        }
+    }
+
+    private void showOfflinePlaytime(CommandSender sender, UUID target, String targetName) {
+        String playtime = PlaytimeTracker.format(playtimeTracker.getPlaytime(target), true);
         
         sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + Constants.PRIMARY + 
-            target.getName() + "&7 has a playtime of " + Constants.PRIMARY + playtime));
+            targetName + "&7 has a playtime of " + Constants.PRIMARY + playtime));
     }
     
     private void showPlaytime(CommandSender sender, Player target) {
-        String playtime = String.format("%sd, %sh, %sm, %ss",
-            PlaceholderAPI.setPlaceholders(target, "%statistic_time_played:days%"),
-            PlaceholderAPI.setPlaceholders(target, "%statistic_time_played:hours%"),
-            PlaceholderAPI.setPlaceholders(target, "%statistic_time_played:minutes%"),
-            PlaceholderAPI.setPlaceholders(target, "%statistic_time_played:seconds%")
-        );
+        String playtime = PlaytimeTracker.format(playtimeTracker.getPlaytime(target), true);
         
         if (sender == target) {
             sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + 
@@ -80,10 +119,14 @@ public class PlaytimeCommand implements CommandExecutor, TabCompleter {
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
-            return Bukkit.getOnlinePlayers().stream()
+            List<String> completions = Bukkit.getOnlinePlayers().stream()
                     .map(Player::getName)
                     .filter(name -> name.toLowerCase().startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
+            if ("top".startsWith(args[0].toLowerCase())) {
+                completions.add("top");
+            }
+            return completions;
         }
         return new ArrayList<>();
     }
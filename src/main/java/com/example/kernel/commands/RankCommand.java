@@ -2,8 +2,7 @@ package com.example.kernel.commands;
 
 import me.clip.placeholderapi.PlaceholderAPI;
 import net.luckperms.api.LuckPerms;
-import net.luckperms.api.node.types.InheritanceNode;
-import net.luckperms.api.track.Track;
+import net.luckperms.api.model.group.Group;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -11,22 +10,49 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import com.example.kernel.Kernel;
+import com.example.kernel.managers.AuditLog;
+import com.example.kernel.managers.BulkRankUpdater;
+import com.example.kernel.managers.NameIndex;
+import com.example.kernel.managers.RankUpdater;
+import com.example.kernel.managers.TrackIndex;
 import com.example.kernel.utils.ColorUtils;
 import com.example.kernel.utils.Constants;
+import com.example.kernel.utils.MainThreadExecutor;
+import com.example.kernel.utils.Message;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 public class RankCommand implements CommandExecutor, TabCompleter {
+    private final Kernel plugin;
     private final LuckPerms luckPerms;
-    private final String STAFF_TRACK = "staff";
+    private final AuditLog auditLog;
+    private final NameIndex nameIndex;
+    private final Executor mainThread;
+    private final RankUpdater rankUpdater;
+    private final BulkRankUpdater bulkRankUpdater;
+    private final TrackIndex trackIndex;
+    private final String defaultTrack;
 
-    public RankCommand(LuckPerms luckPerms) {
+    public RankCommand(Kernel plugin, LuckPerms luckPerms, AuditLog auditLog, NameIndex nameIndex, TrackIndex trackIndex) {
+        this.plugin = plugin;
+        this.auditLog = auditLog;
         this.luckPerms = luckPerms;
+        this.nameIndex = nameIndex;
+        this.trackIndex = trackIndex;
+        this.defaultTrack = plugin.getConfig().getString("rank.default-track", "staff");
+        this.mainThread = new MainThreadExecutor(plugin);
+        this.rankUpdater = new RankUpdater(luckPerms, trackIndex);
+        this.bulkRankUpdater = new BulkRankUpdater(plugin, luckPerms, rankUpdater, nameIndex, auditLog);
     }
 
     @Override
@@ -40,29 +66,43 @@ public class RankCommand implements CommandExecutor, TabCompleter {
         switch (subCommand) {
             case "set":
                 if (args.length < 3) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/rank set <player> <rank>"));
+                    Message.USAGE.send(sender, "/rank set <player> <rank>");
                     return true;
                 }
                 setRank(sender, args[1], args[2]);
                 break;
             case "promote":
                 if (args.length < 2) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/rank promote <player>"));
+                    Message.USAGE.send(sender, "/rank promote <player> [track]");
                     return true;
                 }
-                promotePlayer(sender, args[1]);
+                promotePlayer(sender, args[1], args.length > 2 ? args[2] : defaultTrack);
                 break;
             case "demote":
                 if (args.length < 2) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/rank demote <player>"));
+                    Message.USAGE.send(sender, "/rank demote <player> [track]");
                     return true;
                 }
-                demotePlayer(sender, args[1]);
+                demotePlayer(sender, args[1], args.length > 2 ? args[2] : defaultTrack);
+                break;
+            case "bulk":
+                if (args.length < 4 || !args[1].equalsIgnoreCase("set")) {
+                    Message.USAGE.send(sender, "/rank bulk set <rank> <players...>");
+                    return true;
+                }
+                bulkSetRank(sender, args[2], Arrays.asList(args).subList(3, args.length));
+                break;
+            case "import":
+                if (args.length < 2) {
+                    Message.USAGE.send(sender, "/rank import <file>");
+                    return true;
+                }
+                importRanks(sender, args[1]);
                 break;
             case "info":
                 if (args.length < 2) {
                     if (!(sender instanceof Player)) {
-                        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/rank info <player>"));
+                        Message.USAGE.send(sender, "/rank info <player>");
                         return true;
                     }
                     showRankInfo(sender, (Player) sender);
@@ -70,7 +110,7 @@ public class RankCommand implements CommandExecutor, TabCompleter {
                 }
                 Player target = Bukkit.getPlayer(args[1]);
                 if (target == null) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player not found: " + Constants.PRIMARY + args[1]));
+                    Message.PLAYER_NOT_FOUND.send(sender, args[1]);
                     return true;
                 }
                 showRankInfo(sender, target);
@@ -83,12 +123,16 @@ public class RankCommand implements CommandExecutor, TabCompleter {
     }
 
     private void showHelp(CommandSender sender) {
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Available commands:"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/rank help &8- &7Show this help message"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/rank info [player] &8- &7Show rank information"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/rank set <player> <rank> &8- &7Set a player's rank"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/rank promote <player> &8- &7Promote player on staff track"));
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PRIMARY + "/rank demote <player> &8- &7Demote player on staff track"));
+        Message.RANK_HELP_HEADER.send(sender);
+        Message.RANK_HELP_LINE.send(sender, "/rank help", "Show this help message");
+        Message.RANK_HELP_LINE.send(sender, "/rank info [player]", "Show rank information");
+        Message.RANK_HELP_LINE.send(sender, "/rank set <player> <rank>", "Set a player's rank on its track, other groups are kept");
+        Message.RANK_HELP_LINE.send(sender, "/rank promote <player> [track]", "Promote player on a track, " + defaultTrack + " by default");
+        Message.RANK_HELP_LINE.send(sender, "/rank demote <player> [track]", "Demote player on a track, " + defaultTrack + " by default");
+        Message.RANK_HELP_LINE.send(sender, "/rank bulk set <rank> <players...>", "Set the rank of many players");
+        if (!(sender instanceof Player)) {
+            Message.RANK_HELP_LINE.send(sender, "/rank import <file>", "Set ranks from a name,rank file in the plugin folder");
+        }
     }
 
     private void showRankInfo(CommandSender sender, Player target) {
@@ -107,138 +151,151 @@ public class RankCommand implements CommandExecutor, TabCompleter {
 
     private void setRank(CommandSender sender, String targetName, String rankName) {
         if (!sender.hasPermission("kernel.rank.set")) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You don't have permission to set ranks."));
+            Message.RANK_NO_PERMISSION.send(sender, "set ranks");
             return;
         }
 
         if (luckPerms.getGroupManager().getGroup(rankName) == null) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Rank " + Constants.PRIMARY + rankName + " &7doesn't exist."));
+            Message.RANK_NOT_FOUND.send(sender, rankName);
             return;
         }
 
-        Player targetPlayer = Bukkit.getPlayer(targetName);
-        if (targetPlayer == null) {
-            CompletableFuture<UUID> lookupUUID = luckPerms.getUserManager().lookupUniqueId(targetName);
-            try {
-                UUID targetUUID = lookupUUID.get();
-                if (targetUUID == null) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player " + Constants.PRIMARY + targetName + " &7not found."));
-                    return;
-                }
-                setRankOffline(sender, targetUUID, targetName, rankName);
-            } catch (Exception e) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Error looking up player: " + e.getMessage()));
-            }
+        changeRank(sender, targetName, target -> rankUpdater.setRank(target, rankName), Message.RANK_ALREADY_HAS);
+    }
+
+    private void bulkSetRank(CommandSender sender, String rankName, List<String> targetNames) {
+        if (!sender.hasPermission("kernel.rank.set")) {
+            Message.RANK_NO_PERMISSION.send(sender, "set ranks");
             return;
         }
 
-        setRankOnline(sender, targetPlayer, rankName);
-    }
+        if (luckPerms.getGroupManager().getGroup(rankName) == null) {
+            Message.RANK_NOT_FOUND.send(sender, rankName);
+            return;
+        }
 
-    private void setRankOnline(CommandSender sender, Player target, String rankName) {
-        String oldRank = luckPerms.getUserManager().getUser(target.getUniqueId()).getPrimaryGroup();
-        
-        luckPerms.getUserManager().modifyUser(target.getUniqueId(), user -> {
-            user.data().clear(node -> node instanceof InheritanceNode);
-            user.data().add(InheritanceNode.builder(rankName).build());
-        }).thenRun(() -> {
-            Bukkit.getScheduler().runTask(Bukkit.getPluginManager().getPlugin("Kernel"), () -> {
-                updatePlayerRank(sender, target, oldRank, rankName);
-            });
-        });
+        if (!bulkRankUpdater.setRank(sender, rankName, targetNames)) {
+            Message.RANK_BULK_RUNNING.send(sender);
+        }
     }
 
-    private void setRankOffline(CommandSender sender, UUID targetUUID, String targetName, String rankName) {
-        luckPerms.getUserManager().modifyUser(targetUUID, user -> {
-            String oldRank = user.getPrimaryGroup();
-            user.data().clear(node -> node instanceof InheritanceNode);
-            user.data().add(InheritanceNode.builder(rankName).build());
-            
-            Bukkit.getScheduler().runTask(Bukkit.getPluginManager().getPlugin("Kernel"), () -> {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Set " + Constants.PRIMARY + targetName + 
-                    "&7's rank from " + Constants.PRIMARY + oldRank + " &7to " + Constants.PRIMARY + rankName + "&7."));
-            });
-        });
+    // name,rank per line, from a file in the plugin folder
+    private void importRanks(CommandSender sender, String fileName) {
+        if (sender instanceof Player) {
+            Message.RANK_IMPORT_CONSOLE_ONLY.send(sender);
+            return;
+        }
+
+        if (!bulkRankUpdater.importFile(sender, fileName)) {
+            Message.RANK_BULK_RUNNING.send(sender);
+        }
     }
 
-    private void promotePlayer(CommandSender sender, String targetName) {
+    private void promotePlayer(CommandSender sender, String targetName, String trackName) {
         if (!sender.hasPermission("kernel.rank.promote")) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You don't have permission to promote players."));
+            Message.RANK_NO_PERMISSION.send(sender, "promote players");
             return;
         }
+        moveOnTrack(sender, targetName, trackName, 1, Message.RANK_ALREADY_HIGHEST);
+    }
 
-        Player targetPlayer = Bukkit.getPlayer(targetName);
-        if (targetPlayer == null) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player " + Constants.PRIMARY + targetName + " &7must be online."));
+    private void demotePlayer(CommandSender sender, String targetName, String trackName) {
+        if (!sender.hasPermission("kernel.rank.demote")) {
+            Message.RANK_NO_PERMISSION.send(sender, "demote players");
             return;
         }
+        moveOnTrack(sender, targetName, trackName, -1, Message.RANK_ALREADY_LOWEST);
+    }
 
-        Track track = luckPerms.getTrackManager().getTrack(STAFF_TRACK);
-        if (track == null) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Staff track not found."));
+    // Works for offline players too, LuckPerms loads them in the background
+    private void moveOnTrack(CommandSender sender, String targetName, String trackName, int step, Message noChange) {
+        if (!trackIndex.hasTrack(trackName)) {
+            Message.RANK_TRACK_NOT_FOUND.send(sender, trackName);
             return;
         }
 
-        String currentGroup = luckPerms.getUserManager().getUser(targetPlayer.getUniqueId()).getPrimaryGroup();
-        int currentIndex = track.getGroups().indexOf(currentGroup);
+        changeRank(sender, targetName, target -> rankUpdater.moveOnTrack(target, trackName, step), noChange);
+    }
 
-        if (currentIndex >= track.getGroups().size() - 1) {
-            // Use PlaceholderAPI for display name in messages
-            String displayRank = PlaceholderAPI.setPlaceholders(targetPlayer, "%luckperms_primary_group_name%");
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + Constants.PRIMARY + targetName + 
-                " &7is already at the highest rank " + Constants.PRIMARY + "(" + displayRank + ")."));
-            return;
+    // Online players and the name index from memory, LuckPerms is only asked for names neither knows
+    private CompletableFuture<UUID> resolveTarget(String targetName) {
+        Player targetPlayer = Bukkit.getPlayer(targetName);
+        if (targetPlayer != null) {
+            return CompletableFuture.completedFuture(targetPlayer.getUniqueId());
         }
 
-        String newGroup = track.getGroups().get(currentIndex + 1);
-        setRankOnline(sender, targetPlayer, newGroup);
+        UUID uuid = nameIndex.getUniqueId(targetName);
+        if (uuid != null) {
+            return CompletableFuture.completedFuture(uuid);
+        }
+        return luckPerms.getUserManager().lookupUniqueId(targetName);
     }
 
-    private void demotePlayer(CommandSender sender, String targetName) {
-        if (!sender.hasPermission("kernel.rank.demote")) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7You don't have permission to demote players."));
-            return;
-        }
+    /**
+     * Finds the player and changes their rank without waiting on the main
+     * thread. Only the feedback and the audit entry run back on it, once
+     * LuckPerms has finished saving.
+     *
+     * @param change Starts the change on the RankUpdater for the player's UUID
+     * @param noChange Sent with the name and the current rank when the rank stays the same
+     */
+    private void changeRank(CommandSender sender, String targetName, Function<UUID, CompletableFuture<RankUpdater.Change>> change,
+                            Message noChange) {
+        resolveTarget(targetName).thenCompose(target -> target != null
+                ? change.apply(target)
+                : CompletableFuture.<RankUpdater.Change>completedFuture(null)
+        ).whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                plugin.getLogger().log(Level.WARNING, "Could not change the rank of " + targetName, cause);
+                String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                Message.RANK_CHANGE_FAILED.send(sender, reason);
+                return;
+            }
+            if (result == null) {
+                Message.PLAYER_NOT_FOUND.send(sender, targetName);
+                return;
+            }
+            reportRankChange(sender, result, noChange);
+        }, mainThread);
+    }
 
-        Player targetPlayer = Bukkit.getPlayer(targetName);
-        if (targetPlayer == null) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player " + Constants.PRIMARY + targetName + " &7must be online."));
-            return;
+    private void reportRankChange(CommandSender sender, RankUpdater.Change change, Message noChange) {
+        String targetName = nameIndex.getName(change.getUniqueId());
+        if (targetName == null) {
+            targetName = change.getUsername() != null ? change.getUsername() : change.getUniqueId().toString();
         }
-
-        Track track = luckPerms.getTrackManager().getTrack(STAFF_TRACK);
-        if (track == null) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Staff track not found."));
+        if (change.getNewRank() == null) {
+            noChange.send(sender, targetName, change.getOldRank() != null ? change.getOldRank() : "none");
             return;
         }
 
-        String currentGroup = luckPerms.getUserManager().getUser(targetPlayer.getUniqueId()).getPrimaryGroup();
-        int currentIndex = track.getGroups().indexOf(currentGroup);
-
-        if (currentIndex <= 0) {
-            // Use PlaceholderAPI for display name in messages
-            String displayRank = PlaceholderAPI.setPlaceholders(targetPlayer, "%luckperms_primary_group_name%");
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + Constants.PRIMARY + targetName + 
-                " &7is already at the lowest rank " + Constants.PRIMARY + "(" + displayRank + ")."));
+        if (change.getOldRank() == null) {
+            auditLog.log(AuditLog.Type.ACTION, sender.getName(), targetName, "rank none -> " + change.getNewRank());
+            Message.RANK_GIVEN.send(sender, targetName, displayRank(change.getNewRank()));
             return;
         }
 
-        String newGroup = track.getGroups().get(currentIndex - 1);
-        setRankOnline(sender, targetPlayer, newGroup);
+        auditLog.log(AuditLog.Type.ACTION, sender.getName(), targetName, "rank " + change.getOldRank() + " -> " + change.getNewRank());
+        Message.RANK_SET.send(sender, targetName, displayRank(change.getOldRank()), displayRank(change.getNewRank()));
     }
 
-    private void updatePlayerRank(CommandSender sender, Player targetPlayer, String oldRank, String newRank) {
-        String oldPrefix = luckPerms.getGroupManager().getGroup(oldRank).getCachedData().getMetaData().getPrefix();
-        String newPrefix = luckPerms.getGroupManager().getGroup(newRank).getCachedData().getMetaData().getPrefix();
-
-        sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Set " + Constants.PRIMARY + targetPlayer.getName() + 
-            "&7's rank from &f" + oldPrefix + " &7to &f" + newPrefix + "&7."));
+    // The colored prefix of the group if it has one, its name otherwise; message arguments are not colorized
+    private String displayRank(String rank) {
+        Group group = luckPerms.getGroupManager().getGroup(rank);
+        String prefix = group != null ? group.getCachedData().getMetaData().getPrefix() : null;
+        return prefix != null ? ColorUtils.translateColorCodes(prefix) : rank;
     }
 
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
-            return Arrays.asList("set", "help", "promote", "demote", "info").stream()
+            List<String> subCommands = new ArrayList<>(Arrays.asList("set", "help", "promote", "demote", "info", "bulk"));
+            // Imports are console only, like in the help
+            if (!(sender instanceof Player)) {
+                subCommands.add("import");
+            }
+            return subCommands.stream()
                     .filter(sc -> sc.toLowerCase().startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
         }
@@ -252,6 +309,29 @@ public class RankCommand implements CommandExecutor, TabCompleter {
                         .filter(name -> name.toLowerCase().startsWith(args[1].toLowerCase()))
                         .collect(Collectors.toList());
             }
+            if (subCommand.equals("bulk") && "set".startsWith(args[1].toLowerCase())) {
+                return Arrays.asList("set");
+            }
+        }
+
+        if (args.length == 3 && (args[0].equalsIgnoreCase("promote") || args[0].equalsIgnoreCase("demote"))) {
+            return trackIndex.getTracks().stream()
+                    .filter(track -> track.startsWith(args[2].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+
+        if (args.length == 3 && args[0].equalsIgnoreCase("bulk")) {
+            return luckPerms.getGroupManager().getLoadedGroups().stream()
+                    .map(group -> group.getName())
+                    .filter(name -> name.toLowerCase().startsWith(args[2].toLowerCase()))
+                    .collect(Collectors.toList());
+        }
+
+        if (args.length > 3 && args[0].equalsIgnoreCase("bulk")) {
+            return Bukkit.getOnlinePlayers().stream()
+                    .map(Player::getName)
+                    .filter(name -> name.toLowerCase().startsWith(args[args.length - 1].toLowerCase()))
+                    .collect(Collectors.toList());
         }
         
         if (args.length == 3 && args[0].equalsIgnoreCase("set")) {
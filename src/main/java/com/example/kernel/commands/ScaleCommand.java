@@ -8,8 +8,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
-import com.example.kernel.utils.ColorUtils;
-import com.example.kernel.utils.Constants;
+import com.example.kernel.utils.Message;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +19,7 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/scale <value> [player]"));
+            Message.USAGE.send(sender, "/scale <value> [player]");
             return true;
         }
 
@@ -28,13 +27,13 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
             double scale = Double.parseDouble(args[0]);
             
             if (scale < 0.01 || scale > 10) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Scale must be between " + Constants.PRIMARY + "0.01 and 10."));
+                Message.SCALE_RANGE.send(sender);
                 return true;
             }
 
             if (args.length == 1) {
                 if (!(sender instanceof Player)) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&cConsole must specify a player."));
+                    Message.CONSOLE_NEEDS_PLAYER.send(sender);
                     return true;
                 }
                 setScale((Player) sender, scale, sender);
@@ -43,7 +42,7 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
 
             Player target = Bukkit.getPlayer(args[1]);
             if (target == null) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player not found: " + Constants.PRIMARY + args[1]));
+                Message.PLAYER_NOT_FOUND.send(sender, args[1]);
                 return true;
             }
 
@@ -51,7 +50,7 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
             return true;
 
         } catch (NumberFormatException e) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Invalid scale value."));
+            Message.SCALE_INVALID.send(sender);
             return true;
         }
     }
@@ -60,10 +59,10 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
         target.getAttribute(Attribute.GENERIC_SCALE).setBaseValue(scale);
 
         if (sender == target) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Your scale has been set to " + Constants.PRIMARY + scale + "."));
+            Message.SCALE_SELF.send(sender, scale);
         } else {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Set scale of "  + Constants.PRIMARY + target.getName() + " &7to " + Constants.PRIMARY + scale + "."));
-            target.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Your scale has been set to " + Constants.PRIMARY + scale + "."));
+            Message.SCALE_OTHER.send(sender, target.getName(), scale);
+            Message.SCALE_SELF.send(target, scale);
         }
     }
 
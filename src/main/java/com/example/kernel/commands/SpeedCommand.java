@@ -7,8 +7,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
-import com.example.kernel.utils.ColorUtils;
-import com.example.kernel.utils.Constants;
+import com.example.kernel.utils.Message;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -20,7 +19,7 @@ public class SpeedCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/speed <value> [player]"));
+            Message.USAGE.send(sender, "/speed <value> [player]");
             return true;
         }
 
@@ -29,7 +28,7 @@ public class SpeedCommand implements CommandExecutor, TabCompleter {
             
             // Validate speed range
             if (speed < 1 || speed > 10) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Speed must be between " + Constants.PRIMARY + "1 and 10."));
+                Message.SPEED_RANGE.send(sender);
                 return true;
             }
 
@@ -41,12 +40,12 @@ public class SpeedCommand implements CommandExecutor, TabCompleter {
             if (args.length > 1) {
                 target = Bukkit.getPlayer(args[1]);
                 if (target == null) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Player not found: " + Constants.PRIMARY + args[1]));
+                    Message.PLAYER_NOT_FOUND.send(sender, args[1]);
                     return true;
                 }
             } else {
                 if (!(sender instanceof Player)) {
-                    sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Console must specify a player."));
+                    Message.CONSOLE_NEEDS_PLAYER.send(sender);
                     return true;
                 }
                 target = (Player) sender;
@@ -56,7 +55,7 @@ public class SpeedCommand implements CommandExecutor, TabCompleter {
             return true;
 
         } catch (NumberFormatException e) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Invalid speed value!"));
+            Message.SPEED_INVALID.send(sender);
             return true;
         }
     }
@@ -76,12 +75,10 @@ public class SpeedCommand implements CommandExecutor, TabCompleter {
         int displaySpeed = (int) (speed * 10);
 
         if (sender == target) {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Set your " + speedType + " speed to " + Constants.PRIMARY + displaySpeed + "&7."));
+            Message.SPEED_SELF.send(sender, speedType, displaySpeed);
         } else {
-            sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Set " + Constants.PRIMARY + target.getName() + 
-                "&7's " + speedType + " speed to " + Constants.PRIMARY + displaySpeed + "&7."));
-            target.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Your " + speedType + " speed has been set to " + 
-                Constants.PRIMARY + displaySpeed + "&7."));
+            Message.SPEED_OTHER.send(sender, target.getName(), speedType, displaySpeed);
+            Message.SPEED_TARGET.send(target, speedType, displaySpeed);
         }
     }
 
@@ -7,6 +7,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import com.example.kernel.managers.AuditLog;
 import com.example.kernel.utils.ColorUtils;
 import com.example.kernel.utils.Constants;
 
@@ -15,12 +16,17 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class VanishCommand implements CommandExecutor, TabCompleter {
+    private final AuditLog auditLog;
+
+    public VanishCommand(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (args.length == 0) {
             if (!(sender instanceof Player)) {
-                sender.sendMessage(ColorUtils.translateColorCodes(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/vanish <player>"));
+                sender.sendMessage(ColorUtils.translateCached(Constants.PREFIX + "&7Usage: " + Constants.PRIMARY + "/vanish <player>"));
                 return true;
             }
 
@@ -42,6 +48,7 @@ public class VanishCommand implements CommandExecutor, TabCompleter {
     private void toggleVanish(CommandSender sender, Player target) {
         boolean isVanished = !target.isInvisible();
         target.setInvisible(isVanished);
+        auditLog.log(AuditLog.Type.ACTION, sender.getName(), target.getName(), "vanish " + (isVanished ? "on" : "off"));
 
         String status = isVanished ? "&aenabled." : "&cdisabled.";
         
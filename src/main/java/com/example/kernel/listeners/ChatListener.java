@@ -2,28 +2,85 @@ package com.example.kernel.listeners;
 
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.cacheddata.CachedMetaData;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import net.luckperms.api.model.user.User;
+import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.ComponentBuilder;
 import net.md_5.bungee.api.chat.HoverEvent;
 import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
+import com.example.kernel.Kernel;
 import com.example.kernel.commands.ChatControlCommands;
+import com.example.kernel.managers.AuditLog;
+import com.example.kernel.managers.ChatChannels;
+import com.example.kernel.managers.ChatChannels.Channel;
+import com.example.kernel.managers.ChatFilter;
+import com.example.kernel.managers.PlaytimeTracker;
+import com.example.kernel.utils.ChatBroadcast;
 import com.example.kernel.utils.ColorUtils;
+import com.example.kernel.utils.Message;
 
 import me.clip.placeholderapi.PlaceholderAPI;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class ChatListener implements Listener {
+    private final Kernel plugin;
     private final ChatControlCommands chatControl;
+    private final ChatFilter chatFilter;
+    private final ChatChannels chatChannels;
+    private final AuditLog auditLog;
+    private final PlaytimeTracker playtimeTracker;
     private final LuckPerms luckPerms;
+    // Built on join and rebuilt when LuckPerms recalculates the user, read by the async chat threads
+    private final Map<UUID, ChatIdentity> identities = new ConcurrentHashMap<>();
+    // Hover shown on each player's name, shared by all their messages until it expires
+    private final Map<UUID, HoverCard> hoverCards = new ConcurrentHashMap<>();
+    private final long hoverTtlNanos;
 
-    public ChatListener(ChatControlCommands chatControl, LuckPerms luckPerms) {
+    public ChatListener(Kernel plugin, ChatControlCommands chatControl, ChatFilter chatFilter, ChatChannels chatChannels,
+                        AuditLog auditLog, PlaytimeTracker playtimeTracker, LuckPerms luckPerms) {
+        this.plugin = plugin;
         this.chatControl = chatControl;
+        this.chatFilter = chatFilter;
+        this.chatChannels = chatChannels;
+        this.auditLog = auditLog;
+        this.playtimeTracker = playtimeTracker;
         this.luckPerms = luckPerms;
+        this.hoverTtlNanos = TimeUnit.SECONDS.toNanos(Math.max(0, plugin.getConfig().getLong("chat.hover-ttl", 60)));
+        luckPerms.getEventBus().subscribe(plugin, UserDataRecalculateEvent.class, this::onUserDataRecalculate);
     }
-    
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        identities.put(player.getUniqueId(), new ChatIdentity(luckPerms.getPlayerAdapter(Player.class).getUser(player)));
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        identities.remove(event.getPlayer().getUniqueId());
+        hoverCards.remove(event.getPlayer().getUniqueId());
+    }
+
+    private void onUserDataRecalculate(UserDataRecalculateEvent event) {
+        // Only players that are online have an identity; offline lookups are ignored
+        User user = event.getUser();
+        identities.replace(user.getUniqueId(), new ChatIdentity(user));
+    }
+
     @EventHandler
     public void onPlayerChat(AsyncPlayerChatEvent event) {
         Player player = event.getPlayer();
@@ -33,63 +90,86 @@ public class ChatListener implements Listener {
             return;
         }
 
-        // Get LuckPerms metadata
-        CachedMetaData metaData = luckPerms.getPlayerAdapter(Player.class)
-                .getMetaData(player);
+        String message = chatFilter.filter(player, event.getMessage());
+        if (message == null) {
+            event.setCancelled(true);
+            return;
+        }
 
-        String prefix = metaData.getPrefix();
-        String suffix = metaData.getSuffix();
+        // Players who were online before the plugin was enabled never joined
+        ChatIdentity identity = identities.computeIfAbsent(player.getUniqueId(),
+                uuid -> new ChatIdentity(luckPerms.getPlayerAdapter(Player.class).getUser(player)));
         
-        // Create hover text
-        String hoverText = createHoverText(player, prefix);
-        
-        // Create the message components
-        TextComponent prefixComponent = new TextComponent(prefix != null ? ColorUtils.translateColorCodes(prefix + " ") : "");
+        // Create the message components, the cached ones are copied as the final message owns them
+        TextComponent prefixComponent = identity.prefix.duplicate();
         
         // Create player name component with hover
         TextComponent nameComponent = new TextComponent(player.getName());
-        
-        // Check if player's group is default
-        String primaryGroup = luckPerms.getUserManager().getUser(player.getUniqueId()).getPrimaryGroup();
-        if (primaryGroup.equalsIgnoreCase("default")) {
-            nameComponent.setColor(net.md_5.bungee.api.ChatColor.GRAY);
-        } else {
-            nameComponent.setColor(net.md_5.bungee.api.ChatColor.WHITE);
-        }
-        
-        nameComponent.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new ComponentBuilder(hoverText).create()));
+        nameComponent.setColor(identity.nameColor);
+        nameComponent.setHoverEvent(getHoverCard(player, identity));
         
         // Create suffix and message components
-        TextComponent suffixComponent = new TextComponent(suffix != null ? ColorUtils.translateColorCodes(" " + suffix) : "");
+        TextComponent suffixComponent = identity.suffix.duplicate();
         TextComponent separatorComponent = new TextComponent(": ");
-        separatorComponent.setColor(net.md_5.bungee.api.ChatColor.GRAY);
-        TextComponent messageComponent = new TextComponent(event.getMessage());
-        messageComponent.setColor(net.md_5.bungee.api.ChatColor.WHITE);
+        separatorComponent.setColor(ChatColor.GRAY);
+        TextComponent messageComponent = new TextComponent(message);
+        messageComponent.setColor(ChatColor.WHITE);
 
         // Combine all components
+        Channel channel = chatChannels.getChannel(player);
         TextComponent finalMessage = new TextComponent();
+        if (channel == Channel.STAFF) {
+            finalMessage.addExtra(new TextComponent(Message.CHANNEL_TAG_STAFF.format()));
+        } else if (channel == Channel.LOCAL) {
+            finalMessage.addExtra(new TextComponent(Message.CHANNEL_TAG_LOCAL.format()));
+        }
         finalMessage.addExtra(prefixComponent);
         finalMessage.addExtra(nameComponent);
         finalMessage.addExtra(suffixComponent);
         finalMessage.addExtra(separatorComponent);
         finalMessage.addExtra(messageComponent);
 
-        // Cancel the original event and send our custom message
+        // Cancel the original event and send our custom message to the sender's channel
         event.setCancelled(true);
-        event.getRecipients().forEach(recipient -> recipient.spigot().sendMessage(finalMessage));
+        Collection<Player> recipients = chatChannels.getRecipients(player, channel, event.getRecipients());
+        ChatBroadcast.sendChat(recipients, finalMessage);
+        auditLog.log(AuditLog.Type.CHAT, player.getName(), null, "[" + channel.getName() + "] " + message);
+
+        if (channel == Channel.LOCAL && recipients.size() <= 1) {
+            Message.CHANNEL_NOBODY_NEARBY.send(player);
+        }
+    }
+
+    private HoverEvent getHoverCard(Player player, ChatIdentity identity) {
+        HoverCard card = hoverCards.get(player.getUniqueId());
+        long now = System.nanoTime();
+
+        // Built in place the first time and whenever the rank shown on it changed
+        if (card == null || card.identity != identity) {
+            card = new HoverCard(identity, createHoverText(player, identity), now + hoverTtlNanos);
+            hoverCards.put(player.getUniqueId(), card);
+            return card.hover;
+        }
+
+        // Expired cards are still shown while a fresh one is built in the background
+        if (now - card.expiresAt >= 0 && card.refreshing.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                // Skip players who left, their card was already dropped
+                if (player.isOnline()) {
+                    hoverCards.replace(player.getUniqueId(),
+                            new HoverCard(identity, createHoverText(player, identity), System.nanoTime() + hoverTtlNanos));
+                }
+            });
+        }
+        return card.hover;
     }
 
-    private String createHoverText(Player player, String prefix) {
-        // Check if player's group is default
-        String primaryGroup = luckPerms.getUserManager().getUser(player.getUniqueId()).getPrimaryGroup();
-        String nameColor = primaryGroup.equalsIgnoreCase("default") ? "&7" : "&f";
+    private String createHoverText(Player player, ChatIdentity identity) {
+        String prefix = identity.rawPrefix;
+        String nameColor = identity.nameColorCode;
     
-        // Get player stats with PlaceholderAPI
-        String playtime = String.format("%sd, %sh, %sm",
-            PlaceholderAPI.setPlaceholders(player, "%statistic_time_played:days%"),
-            PlaceholderAPI.setPlaceholders(player, "%statistic_time_played:hours%"),
-            PlaceholderAPI.setPlaceholders(player, "%statistic_time_played:minutes%")
-        );
+        // Playtime is tracked in memory, the rest comes from PlaceholderAPI
+        String playtime = PlaytimeTracker.format(Math.max(0, playtimeTracker.getPlaytime(player)), false);
     
         // Get join date and trim the time portion
         String joinDate = PlaceholderAPI.setPlaceholders(player, "%player_first_join_date%");
@@ -112,4 +192,43 @@ public class ChatListener implements Listener {
     
         return ColorUtils.translateColorCodes(hoverText);
     }
-}
\ No newline at end of file
+
+    /**
+     * The LuckPerms-derived parts of a player's chat line, so sending a message
+     * needs no permission lookups.
+     */
+    private static final class ChatIdentity {
+        private final String rawPrefix;
+        private final String nameColorCode;
+        private final ChatColor nameColor;
+        private final TextComponent prefix;
+        private final TextComponent suffix;
+
+        private ChatIdentity(User user) {
+            CachedMetaData metaData = user.getCachedData().getMetaData();
+            String prefix = metaData.getPrefix();
+            String suffix = metaData.getSuffix();
+
+            // Players in the default group get a gray name
+            boolean isDefault = user.getPrimaryGroup().equalsIgnoreCase("default");
+            this.rawPrefix = prefix;
+            this.nameColorCode = isDefault ? "&7" : "&f";
+            this.nameColor = isDefault ? ChatColor.GRAY : ChatColor.WHITE;
+            this.prefix = new TextComponent(prefix != null ? ColorUtils.translateColorCodes(prefix + " ") : "");
+            this.suffix = new TextComponent(suffix != null ? ColorUtils.translateColorCodes(" " + suffix) : "");
+        }
+    }
+
+    private static final class HoverCard {
+        private final ChatIdentity identity;
+        private final HoverEvent hover;
+        private final long expiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private HoverCard(ChatIdentity identity, String text, long expiresAt) {
+            this.identity = identity;
+            this.hover = new HoverEvent(HoverEvent.Action.SHOW_TEXT, new ComponentBuilder(text).create());
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.kernel.managers;
+
+import org.bukkit.Bukkit;
+
+import com.example.kernel.Kernel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Append-only log of chat and staff actions. Entries are queued without ever
+ * blocking the caller and written in batches by a single background thread.
+ * The log is split into segments of a maximum size; next to every segment an
+ * index file holds one fixed-size record per entry (time, offset, length and
+ * name hashes), so a search only reads the index and the matching lines.
+ */
+public class AuditLog {
+    public enum Type {
+        CHAT, ACTION
+    }
+
+    // time, offset, length, actor hash, target hash
+    private static final int INDEX_RECORD = 8 + 8 + 4 + 4 + 4;
+    private static final int BATCH_SIZE = 512;
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private final Kernel plugin;
+    private final File directory;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>(65536);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // Only touched by the writer thread
+    private FileChannel logChannel;
+    private FileChannel indexChannel;
+
+    public AuditLog(Kernel plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "audit");
+        this.segmentBytes = Math.max(1, plugin.getConfig().getLong("audit.segment-size-mb", 8)) * 1024 * 1024;
+        this.maxSegments = Math.max(1, plugin.getConfig().getInt("audit.max-segments", 20));
+
+        this.writer = new Thread(this::writeLoop, "Kernel Audit Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues an entry. Never blocks; if the writer has fallen far behind the entry is dropped.
+     *
+     * @param target The player acted on, or null
+     */
+    public void log(Type type, String actor, String target, String text) {
+        if (closed || !queue.offer(new Entry(System.currentTimeMillis(), type, actor, target, text))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Searches the segments from newest to oldest off the main thread.
+     *
+     * @param player Name the entries must have as actor or target, or null for all
+     * @param since  Oldest entry time to return, in epoch millis
+     * @param callback Gets the newest matches in chronological order, on the main thread
+     */
+    public void search(String player, long since, int limit, Consumer<List<String>> callback) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<String> lines = new ArrayList<>();
+            try {
+                searchSegments(player, since, limit, lines);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to search the audit log", e);
+            }
+            Collections.reverse(lines);
+            Bukkit.getScheduler().runTask(plugin, () -> callback.accept(lines));
+        });
+    }
+
+    /**
+     * Writes everything still queued and closes the log, waiting a few seconds at most.
+     */
+    public void close() {
+        // Not interrupted, that would close the file channels mid-write
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.get() > 0) {
+            plugin.getLogger().warning("Audit log dropped " + dropped.get() + " entries because the writer fell behind.");
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        long backoff = 0;
+        while (!closed || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (logChannel == null) {
+                    openSegment();
+                }
+                // A batch that failed is kept and written again
+                if (batch.isEmpty()) {
+                    Entry first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - batch.size());
+                }
+                writeBatch(batch);
+                batch.clear();
+                backoff = 0;
+            } catch (IOException e) {
+                // Reopened on the next try, which also drops a half written index record
+                closeSegment();
+                if (closed) {
+                    dropped.addAndGet(batch.size() + queue.size());
+                    plugin.getLogger().log(Level.SEVERE, "Failed to write the audit log while closing", e);
+                    break;
+                }
+                backoff = Math.min(MAX_BACKOFF_MILLIS, Math.max(1000, backoff * 2));
+                plugin.getLogger().log(Level.SEVERE, "Failed to write the audit log, retrying in " + backoff / 1000 + "s", e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        closeSegment();
+    }
+
+    private void writeBatch(List<Entry> batch) throws IOException {
+        if (logChannel.size() >= segmentBytes) {
+            closeSegment();
+            startSegment(System.currentTimeMillis());
+        }
+
+        byte[][] lines = new byte[batch.size()][];
+        int total = 0;
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = batch.get(i).format().getBytes(StandardCharsets.UTF_8);
+            total += lines[i].length;
+        }
+
+        ByteBuffer logBuffer = ByteBuffer.allocate(total);
+        ByteBuffer indexBuffer = ByteBuffer.allocate(lines.length * INDEX_RECORD);
+        long offset = logChannel.size();
+        for (int i = 0; i < lines.length; i++) {
+            Entry entry = batch.get(i);
+            logBuffer.put(lines[i]);
+            indexBuffer.putLong(entry.time)
+                    .putLong(offset)
+                    .putInt(lines[i].length)
+                    .putInt(nameHash(entry.actor))
+                    .putInt(nameHash(entry.target));
+            offset += lines[i].length;
+        }
+
+        // Lines first, so an index record never points past the end of the log
+        logBuffer.flip();
+        while (logBuffer.hasRemaining()) {
+            logChannel.write(logBuffer);
+        }
+        indexBuffer.flip();
+        while (indexBuffer.hasRemaining()) {
+            indexChannel.write(indexBuffer);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        // Keep appending to the newest segment if it has room
+        long[] starts = listSegments();
+        if (starts.length > 0 && logFile(starts[starts.length - 1]).length() < segmentBytes) {
+            startSegment(starts[starts.length - 1]);
+            // A crash may have left half a record behind
+            indexChannel.truncate(indexChannel.size() - indexChannel.size() % INDEX_RECORD);
+        } else {
+            startSegment(System.currentTimeMillis());
+        }
+    }
+
+    private void startSegment(long start) throws IOException {
+        logChannel = FileChannel.open(logFile(start).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        indexChannel = FileChannel.open(indexFile(start).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        long[] starts = listSegments();
+        for (int i = 0; i < starts.length - maxSegments; i++) {
+            if (!logFile(starts[i]).delete() || !indexFile(starts[i]).delete()) {
+                plugin.getLogger().warning("Could not delete old audit segment " + logFile(starts[i]).getName());
+            }
+        }
+    }
+
+    private void closeSegment() {
+        closeChannel(logChannel);
+        closeChannel(indexChannel);
+        logChannel = null;
+        indexChannel = null;
+    }
+
+    private void closeChannel(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        // Closed even if the flush fails
+        try (FileChannel closing = channel) {
+            closing.force(false);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to close the audit log", e);
+        }
+    }
+
+    private void searchSegments(String player, long since, int limit, List<String> lines) throws IOException {
+        int hash = player != null ? nameHash(player) : 0;
+        long[] starts = listSegments();
+
+        for (int segment = starts.length - 1; segment >= 0 && lines.size() < limit; segment--) {
+            ByteBuffer index = readIndex(indexFile(starts[segment]));
+            int records = index.limit() / INDEX_RECORD;
+
+            // Records are in time order, so everything before since is skipped by a binary search
+            int low = 0;
+            int high = records;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (index.getLong(middle * INDEX_RECORD) < since) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            try (FileChannel log = FileChannel.open(logFile(starts[segment]).toPath(), StandardOpenOption.READ)) {
+                for (int record = records - 1; record >= low && lines.size() < limit; record--) {
+                    int position = record * INDEX_RECORD;
+                    if (player != null && index.getInt(position + 20) != hash && index.getInt(position + 24) != hash) {
+                        continue;
+                    }
+
+                    ByteBuffer line = ByteBuffer.allocate(index.getInt(position + 16));
+                    log.read(line, index.getLong(position + 8));
+                    String text = new String(line.array(), 0, line.position(), StandardCharsets.UTF_8).trim();
+                    // Different names can share a hash
+                    if (player == null || text.toLowerCase(Locale.ROOT).contains(player.toLowerCase(Locale.ROOT))) {
+                        lines.add(text);
+                    }
+                }
+            }
+
+            // Older segments only hold entries from before this one started
+            if (starts[segment] < since) {
+                break;
+            }
+        }
+    }
+
+    private ByteBuffer readIndex(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size() - channel.size() % INDEX_RECORD;
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // Keep reading until the whole index is in
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    // Start times of every segment, oldest first
+    private long[] listSegments() {
+        String[] names = directory.list((dir, name) -> name.startsWith("audit-") && name.endsWith(".log"));
+        if (names == null) {
+            return new long[0];
+        }
+
+        long[] starts = new long[names.length];
+        int count = 0;
+        for (String name : names) {
+            try {
+                starts[count] = Long.parseLong(name.substring(6, name.length() - 4));
+                count++;
+            } catch (NumberFormatException ignored) {
+                // Not one of ours
+            }
+        }
+        starts = Arrays.copyOf(starts, count);
+        Arrays.sort(starts);
+        return starts;
+    }
+
+    private File logFile(long start) {
+        return new File(directory, "audit-" + start + ".log");
+    }
+
+    private File indexFile(long start) {
+        return new File(directory, "audit-" + start + ".idx");
+    }
+
+    private static int nameHash(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT).hashCode() : 0;
+    }
+
+    private static final class Entry {
+        private final long time;
+        private final Type type;
+        private final String actor;
+        private final String target;
+        private final String text;
+
+        private Entry(long time, Type type, String actor, String target, String text) {
+            this.time = time;
+            this.type = type;
+            this.actor = actor;
+            this.target = target;
+            this.text = text;
+        }
+
+        private String format() {
+            StringBuilder line = new StringBuilder(64 + text.length())
+                    .append(TIME_FORMAT.format(Instant.ofEpochMilli(time)))
+                    .append(' ').append(type.name())
+                    .append(' ').append(actor);
+            if (target != null) {
+                line.append(" -> ").append(target);
+            }
+            // One entry per line
+            return line.append(": ").append(text.replace('\n', ' ').replace('\r', ' ')).append('\n').toString();
+        }
+    }
+}
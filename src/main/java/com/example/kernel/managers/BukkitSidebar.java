@@ -0,0 +1,69 @@
+package com.example.kernel.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+/**
+ * Sidebar backed by a server-side Bukkit scoreboard with one team per line.
+ */
+class BukkitSidebar extends Sidebar {
+    private final Scoreboard board;
+    private final Objective objective;
+    private final Team[] teams;
+
+    BukkitSidebar(String title, String[] lineNames) {
+        super(lineNames);
+        this.board = Bukkit.getScoreboardManager().getNewScoreboard();
+        this.teams = new Team[lineNames.length];
+
+        this.objective = board.registerNewObjective("main", "dummy", title);
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+        for (int i = 0; i < lineNames.length; i++) {
+            int score = getScore(i);
+            String entry = getUniqueCode(score);
+
+            Team team = board.registerNewTeam(lineNames[i]);
+            team.addEntry(entry);
+            objective.getScore(entry).setScore(score);
+            teams[i] = team;
+        }
+    }
+
+    @Override
+    void attach(Player player) {
+        player.setScoreboard(board);
+    }
+
+    @Override
+    void detach(Player player) {
+        player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+    }
+
+    @Override
+    boolean isAttached(Player player) {
+        return player.getScoreboard() == board;
+    }
+
+    @Override
+    void destroy() {
+        for (Team team : teams) {
+            team.unregister();
+        }
+        objective.unregister();
+    }
+
+    @Override
+    protected void applyLine(int index, boolean prefixChanged, boolean suffixChanged) {
+        if (prefixChanged) {
+            teams[index].setPrefix(prefixes[index]);
+        }
+        if (suffixChanged) {
+            teams[index].setSuffix(suffixes[index]);
+        }
+    }
+}
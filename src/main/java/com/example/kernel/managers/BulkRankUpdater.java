@@ -0,0 +1,261 @@
+package com.example.kernel.managers;
+
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.model.user.UserManager;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import com.example.kernel.Kernel;
+import com.example.kernel.utils.MainThreadExecutor;
+import com.example.kernel.utils.Message;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Sets the rank of many players at once, for /rank bulk and /rank import.
+ * Runs on one async thread: names are resolved from the name index, the rest
+ * in batches through LuckPerms, then at most parallelism users are loaded,
+ * changed and saved at the same time. The server thread only ever gets the
+ * progress messages.
+ */
+public class BulkRankUpdater {
+    private static final int LOOKUP_BATCH = 64;
+    private static final long PROGRESS_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Kernel plugin;
+    private final LuckPerms luckPerms;
+    private final RankUpdater rankUpdater;
+    private final NameIndex nameIndex;
+    private final AuditLog auditLog;
+    private final Executor mainThread;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BulkRankUpdater(Kernel plugin, LuckPerms luckPerms, RankUpdater rankUpdater, NameIndex nameIndex, AuditLog auditLog) {
+        this.plugin = plugin;
+        this.luckPerms = luckPerms;
+        this.rankUpdater = rankUpdater;
+        this.nameIndex = nameIndex;
+        this.auditLog = auditLog;
+        this.mainThread = new MainThreadExecutor(plugin);
+        this.parallelism = Math.max(1, plugin.getConfig().getInt("rank.bulk.parallelism", 8));
+    }
+
+    /**
+     * @return False if another update is still running
+     */
+    public boolean setRank(CommandSender sender, String rank, List<String> names) {
+        List<Row> rows = new ArrayList<>(names.size());
+        for (String name : names) {
+            rows.add(new Row(name, rank));
+        }
+        return start(sender, () -> rows);
+    }
+
+    /**
+     * Reads name,rank pairs from a file in the plugin folder. Blank lines,
+     * lines starting with # and a name,rank header are skipped.
+     *
+     * @return False if another update is still running
+     */
+    public boolean importFile(CommandSender sender, String fileName) {
+        File file = new File(plugin.getDataFolder(), fileName);
+        return start(sender, () -> readRows(file));
+    }
+
+    private boolean start(CommandSender sender, RowSource source) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                run(sender, source.read());
+            } catch (IOException e) {
+                mainThread.execute(() -> Message.RANK_BULK_READ_FAILED.send(sender, e.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.SEVERE, "Bulk rank update failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void run(CommandSender sender, List<Row> rows) throws InterruptedException {
+        long start = System.nanoTime();
+        mainThread.execute(() -> Message.RANK_BULK_STARTED.send(sender, rows.size()));
+
+        AtomicInteger skipped = new AtomicInteger();
+        resolve(sender, rows, skipped, start);
+
+        // The same player twice would run two changes on them at once, the last row wins
+        Map<UUID, Row> unique = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (row.uuid != null) {
+                Row previous = unique.put(row.uuid, row);
+                if (previous != null) {
+                    skip(previous, "listed again as " + row.name, skipped);
+                }
+            }
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicInteger updated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long lastProgress = start;
+
+        for (Row row : unique.values()) {
+            permits.acquire();
+            apply(sender, row).whenComplete((result, error) -> {
+                if (error != null) {
+                    failed.incrementAndGet();
+                    plugin.getLogger().log(Level.WARNING, "Could not set the rank of " + row.name, error);
+                } else {
+                    updated.incrementAndGet();
+                }
+                permits.release();
+            });
+
+            long now = System.nanoTime();
+            if (now - lastProgress >= PROGRESS_NANOS) {
+                lastProgress = now;
+                int done = updated.get() + failed.get() + skipped.get();
+                String rate = perSecond(done, now - start);
+                mainThread.execute(() -> Message.RANK_BULK_PROGRESS.send(sender, done, rows.size(), rate));
+            }
+        }
+
+        // Wait for the last changes in flight
+        permits.acquire(parallelism);
+        long elapsed = System.nanoTime() - start;
+        String seconds = String.format(Locale.ROOT, "%.1f", elapsed / 1e9);
+        String rate = perSecond(rows.size(), elapsed);
+        mainThread.execute(() -> Message.RANK_BULK_DONE.send(sender, seconds, updated.get(), failed.get(), skipped.get(), rate));
+    }
+
+    // Fills in the UUIDs, rows with an unknown player or rank are counted as skipped
+    private void resolve(CommandSender sender, List<Row> rows, AtomicInteger skipped, long start) {
+        Map<String, Boolean> ranks = new HashMap<>();
+        List<Row> unresolved = new ArrayList<>();
+
+        for (Row row : rows) {
+            boolean rankExists = ranks.computeIfAbsent(row.rank.toLowerCase(Locale.ROOT),
+                    rank -> luckPerms.getGroupManager().getGroup(rank) != null);
+            if (!rankExists) {
+                skip(row, "unknown rank " + row.rank, skipped);
+                continue;
+            }
+
+            row.uuid = nameIndex.getUniqueId(row.name);
+            if (row.uuid == null) {
+                unresolved.add(row);
+            }
+        }
+
+        // Players who never joined since the index was created, asked from LuckPerms a batch at a time
+        UserManager userManager = luckPerms.getUserManager();
+        long lastProgress = start;
+        for (int from = 0; from < unresolved.size(); from += LOOKUP_BATCH) {
+            long now = System.nanoTime();
+            if (now - lastProgress >= PROGRESS_NANOS) {
+                lastProgress = now;
+                int done = from;
+                mainThread.execute(() -> Message.RANK_BULK_RESOLVING.send(sender, done, unresolved.size()));
+            }
+
+            List<Row> batch = unresolved.subList(from, Math.min(from + LOOKUP_BATCH, unresolved.size()));
+            List<CompletableFuture<UUID>> lookups = new ArrayList<>(batch.size());
+            for (Row row : batch) {
+                lookups.add(userManager.lookupUniqueId(row.name));
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                Row row = batch.get(i);
+                try {
+                    row.uuid = lookups.get(i).join();
+                } catch (RuntimeException e) {
+                    row.uuid = null;
+                }
+                if (row.uuid == null) {
+                    skip(row, "unknown player", skipped);
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Void> apply(CommandSender sender, Row row) {
+        return rankUpdater.setRank(row.uuid, row.rank).thenAccept(change -> {
+            if (change.getNewRank() != null) {
+                String oldRank = change.getOldRank() != null ? change.getOldRank() : "none";
+                auditLog.log(AuditLog.Type.ACTION, sender.getName(), row.name, "rank " + oldRank + " -> " + change.getNewRank());
+            }
+        });
+    }
+
+    private void skip(Row row, String reason, AtomicInteger skipped) {
+        skipped.incrementAndGet();
+        plugin.getLogger().warning("Skipped " + row.name + " in bulk rank update: " + reason);
+    }
+
+    private List<Row> readRows(File file) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || (number == 1 && line.equalsIgnoreCase("name,rank"))) {
+                    continue;
+                }
+
+                int comma = line.indexOf(',');
+                if (comma <= 0 || comma == line.length() - 1) {
+                    throw new IOException("Line " + number + " is not name,rank: " + line);
+                }
+                rows.add(new Row(line.substring(0, comma).trim(), line.substring(comma + 1).trim()));
+            }
+        }
+        return rows;
+    }
+
+    private static String perSecond(int count, long nanos) {
+        return String.format(Locale.ROOT, "%.0f", nanos > 0 ? count * 1e9 / nanos : 0);
+    }
+
+    private interface RowSource {
+        List<Row> read() throws IOException;
+    }
+
+    private static final class Row {
+        private final String name;
+        private final String rank;
+        private UUID uuid;
+
+        private Row(String name, String rank) {
+            this.name = name;
+            this.rank = rank;
+        }
+    }
+}
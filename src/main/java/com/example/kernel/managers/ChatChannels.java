@@ -0,0 +1,92 @@
+package com.example.kernel.managers;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The chat channel every player talks in. Read from the async chat threads.
+ */
+public class ChatChannels implements Listener {
+
+    public enum Channel {
+        GLOBAL(null),
+        STAFF("kernel.chat.staff"),
+        LOCAL(null);
+
+        private final String permission;
+
+        Channel(String permission) {
+            this.permission = permission;
+        }
+
+        public boolean canUse(Player player) {
+            return permission == null || player.hasPermission(permission);
+        }
+
+        public String getName() {
+            return name().toLowerCase();
+        }
+    }
+
+    // Players without an entry talk in global
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final PlayerGrid playerGrid;
+    private final double localRadius;
+
+    public ChatChannels(PlayerGrid playerGrid, double localRadius) {
+        this.playerGrid = playerGrid;
+        this.localRadius = localRadius;
+    }
+
+    public Channel getChannel(Player player) {
+        return channels.getOrDefault(player.getUniqueId(), Channel.GLOBAL);
+    }
+
+    public void setChannel(Player player, Channel channel) {
+        if (channel == Channel.GLOBAL) {
+            channels.remove(player.getUniqueId());
+        } else {
+            channels.put(player.getUniqueId(), channel);
+        }
+    }
+
+    /**
+     * @param candidates Players the message may go to at all, e.g. the recipients of the chat event
+     * @return The candidates that can read a message the player sends in their channel
+     */
+    public Collection<Player> getRecipients(Player sender, Channel channel, Collection<Player> candidates) {
+        switch (channel) {
+            case STAFF: {
+                List<Player> staff = new ArrayList<>();
+                for (Player candidate : candidates) {
+                    if (Channel.STAFF.canUse(candidate)) {
+                        staff.add(candidate);
+                    }
+                }
+                return staff;
+            }
+            case LOCAL: {
+                // Only the cells around the sender are looked at, not every candidate
+                List<Player> nearby = playerGrid.getNearby(sender, localRadius);
+                nearby.removeIf(player -> !candidates.contains(player));
+                return nearby;
+            }
+            default:
+                return candidates;
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        channels.remove(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.kernel.managers;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import com.example.kernel.utils.AhoCorasick;
+import com.example.kernel.utils.Message;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks chat messages before they are formatted, on the async chat thread.
+ * Blocked words and links are found in a single pass over the message by one
+ * automaton, followed by the duplicate and caps checks.
+ */
+public class ChatFilter implements Listener {
+    private static final int BLOCKED_WORD = 1;
+    private static final int LINK = 1 << 1;
+
+    public enum Stage {
+        PATTERNS, DUPLICATES, CAPS
+    }
+
+    private volatile Settings settings;
+    // Last message of every player, for the duplicate check
+    private final Map<UUID, LastMessage> lastMessages = new ConcurrentHashMap<>();
+    private final LongAdder[] stageNanos = new LongAdder[Stage.values().length];
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    public ChatFilter(ConfigurationSection section) {
+        for (int i = 0; i < stageNanos.length; i++) {
+            stageNanos[i] = new LongAdder();
+        }
+        load(section);
+    }
+
+    /**
+     * Compiles the filter from the chat.filter section of the config and swaps it in.
+     */
+    public void load(ConfigurationSection section) {
+        List<String> words = section != null ? section.getStringList("blocked-words") : Collections.<String>emptyList();
+        List<String> links = section != null ? section.getStringList("link-patterns") : Collections.<String>emptyList();
+
+        AhoCorasick.Builder builder = AhoCorasick.builder();
+        for (String word : words) {
+            builder.add(word, BLOCKED_WORD);
+        }
+        for (String link : links) {
+            builder.add(link, LINK);
+        }
+
+        settings = new Settings(
+            words.isEmpty() && links.isEmpty() ? null : builder.build(),
+            TimeUnit.SECONDS.toNanos(Math.max(0, section != null ? section.getLong("duplicate-window", 30) : 30)),
+            section != null ? section.getInt("caps.min-letters", 8) : 8,
+            section != null ? section.getDouble("caps.max-ratio", 0.7) : 0.7
+        );
+    }
+
+    /**
+     * @return The message to send, with blocked words censored and caps lowered,
+     *         or null if it was blocked. The player is told why.
+     */
+    public String filter(Player player, String message) {
+        if (player.hasPermission("kernel.chat.filter.bypass")) {
+            return message;
+        }
+
+        Settings settings = this.settings;
+        checked.increment();
+
+        // Blocked words and links
+        long start = System.nanoTime();
+        final char[][] censored = new char[1][];
+        final boolean[] hasLink = new boolean[1];
+        if (settings.patterns != null) {
+            settings.patterns.scan(message, (end, kind, length) -> {
+                if (kind == LINK) {
+                    hasLink[0] = true;
+                    return false;
+                }
+                if (censored[0] == null) {
+                    censored[0] = message.toCharArray();
+                }
+                Arrays.fill(censored[0], end - length + 1, end + 1, '*');
+                return true;
+            });
+        }
+        long patternsDone = System.nanoTime();
+        stageNanos[Stage.PATTERNS.ordinal()].add(patternsDone - start);
+
+        if (hasLink[0]) {
+            blocked.increment();
+            Message.CHAT_LINK_BLOCKED.send(player);
+            return null;
+        }
+        String result = censored[0] != null ? new String(censored[0]) : message;
+
+        // Same message twice in a row
+        if (settings.duplicateWindowNanos > 0) {
+            LastMessage last = lastMessages.put(player.getUniqueId(), new LastMessage(message, patternsDone));
+            boolean duplicate = last != null && patternsDone - last.sentAt < settings.duplicateWindowNanos
+                && last.text.equalsIgnoreCase(message);
+            stageNanos[Stage.DUPLICATES.ordinal()].add(System.nanoTime() - patternsDone);
+
+            if (duplicate) {
+                blocked.increment();
+                Message.CHAT_DUPLICATE.send(player);
+                return null;
+            }
+        }
+
+        // Mostly uppercase messages are lowered
+        long capsStart = System.nanoTime();
+        int letters = 0;
+        int upper = 0;
+        for (int i = 0; i < result.length(); i++) {
+            char c = result.charAt(i);
+            if (Character.isLetter(c)) {
+                letters++;
+                if (Character.isUpperCase(c)) {
+                    upper++;
+                }
+            }
+        }
+        if (letters >= settings.capsMinLetters && upper > letters * settings.capsMaxRatio) {
+            result = result.toLowerCase(Locale.ROOT);
+        }
+        stageNanos[Stage.CAPS.ordinal()].add(System.nanoTime() - capsStart);
+
+        return result;
+    }
+
+    /**
+     * @return Average time the stage took per checked message, in nanoseconds
+     */
+    public long getAverageNanos(Stage stage) {
+        long count = checked.sum();
+        return count > 0 ? stageNanos[stage.ordinal()].sum() / count : 0;
+    }
+
+    public long getChecked() {
+        return checked.sum();
+    }
+
+    public long getBlocked() {
+        return blocked.sum();
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        lastMessages.remove(event.getPlayer().getUniqueId());
+    }
+
+    private static final class Settings {
+        private final AhoCorasick patterns;
+        private final long duplicateWindowNanos;
+        private final int capsMinLetters;
+        private final double capsMaxRatio;
+
+        private Settings(AhoCorasick patterns, long duplicateWindowNanos, int capsMinLetters, double capsMaxRatio) {
+            this.patterns = patterns;
+            this.duplicateWindowNanos = duplicateWindowNanos;
+            this.capsMinLetters = capsMinLetters;
+            this.capsMaxRatio = capsMaxRatio;
+        }
+    }
+
+    private static final class LastMessage {
+        private final String text;
+        private final long sentAt;
+
+        private LastMessage(String text, long sentAt) {
+            this.text = text;
+            this.sentAt = sentAt;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.kernel.managers;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-player token bucket for chat, safe to call from the async chat threads.
+ * Each player may send up to burst messages at once, and earns one message
+ * back every interval. Stored as the time the bucket will be full again, so a
+ * message is a single compare-and-set and no lock is ever taken.
+ */
+public class ChatRateLimiter implements Listener {
+    private final ConcurrentHashMap<UUID, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private volatile long intervalNanos;
+    private volatile int burst;
+
+    public ChatRateLimiter(int intervalSeconds, int burst) {
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, intervalSeconds));
+        this.burst = Math.max(1, burst);
+    }
+
+    /**
+     * Takes a token for the player if one is left.
+     *
+     * @return 0 if the message may be sent, otherwise the nanoseconds until it may
+     */
+    public long tryAcquire(UUID uuid) {
+        long interval = intervalNanos;
+        if (interval == 0) {
+            return 0;
+        }
+
+        // How far ahead of now the bucket may be full again while tokens are left
+        long tolerance = interval * (burst - 1);
+        AtomicLong fullAt = buckets.computeIfAbsent(uuid, key -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+
+            long wait = start - tolerance - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Changes the refill interval, 0 disables the limit. Every bucket starts full again.
+     */
+    public void setIntervalSeconds(int seconds) {
+        intervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, seconds));
+        buckets.clear();
+    }
+
+    /**
+     * Changes how many messages may be sent at once. Every bucket starts full again.
+     */
+    public void setBurst(int burst) {
+        this.burst = Math.max(1, burst);
+        buckets.clear();
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        buckets.remove(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.kernel.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.kernel.Kernel;
+
+import java.io.DataOutputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Name and UUID of every player who has joined, so commands can resolve an
+ * offline player's name without Bukkit or LuckPerms going to disk or to Mojang.
+ * Filled on join and kept in names.dat, written behind like the playtime.
+ */
+public class NameIndex implements Listener {
+    private static final int MAGIC = 0x4B4E414D;
+    private static final int VERSION = 1;
+    // Names change rarely, a few minutes of delay is fine
+    private static final long SAVE_INTERVAL_TICKS = 20 * 300;
+
+    private final Kernel plugin;
+    private final RecordFile file;
+    // Keyed by lowercase name, names are case insensitive
+    private final Map<String, UUID> uuids = new ConcurrentHashMap<>();
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private final BukkitTask saveTask;
+    private volatile boolean dirty;
+
+    public NameIndex(Kernel plugin) {
+        this.plugin = plugin;
+        this.file = new RecordFile(plugin, "names.dat", MAGIC, VERSION);
+
+        Map<UUID, String> loaded = file.load(in -> in.readUTF());
+        if (loaded != null) {
+            for (Map.Entry<UUID, String> entry : loaded.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+            dirty = false;
+        } else {
+            importOfflinePlayers();
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            put(player.getUniqueId(), player.getName());
+        }
+
+        this.saveTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::save,
+                SAVE_INTERVAL_TICKS, SAVE_INTERVAL_TICKS);
+    }
+
+    /**
+     * @return The UUID of the player who last joined with this name, or null if nobody did
+     */
+    public UUID getUniqueId(String name) {
+        return uuids.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return The name the player last joined with, or null if they never joined
+     */
+    public String getName(UUID uuid) {
+        return names.get(uuid);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Writes pending changes, used when the plugin is disabled.
+     */
+    public void shutdown() {
+        saveTask.cancel();
+        save();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        put(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+    }
+
+    // First run, everyone the server already knows; their names are read off the main thread
+    private void importOfflinePlayers() {
+        OfflinePlayer[] players = Bukkit.getOfflinePlayers();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            for (OfflinePlayer player : players) {
+                String name = player.getName();
+                if (name != null) {
+                    putIfAbsent(player.getUniqueId(), name);
+                }
+            }
+            plugin.getLogger().info("Imported the names of " + players.length + " players.");
+        });
+    }
+
+    // A join during the import already has the newer name
+    private synchronized void putIfAbsent(UUID uuid, String name) {
+        if (!names.containsKey(uuid)) {
+            put(uuid, name);
+        }
+    }
+
+    // Joins and the first run import can run at the same time
+    private synchronized void put(UUID uuid, String name) {
+        String previous = names.put(uuid, name);
+        if (name.equals(previous)) {
+            return;
+        }
+
+        // Renamed, the old name is free for whoever takes it next
+        if (previous != null) {
+            uuids.remove(previous.toLowerCase(Locale.ROOT), uuid);
+        }
+        // The name may have belonged to someone who renamed since
+        UUID owner = uuids.put(name.toLowerCase(Locale.ROOT), uuid);
+        if (owner != null && !owner.equals(uuid)) {
+            names.remove(owner, name);
+        }
+        dirty = true;
+    }
+
+    private void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        if (!file.save(names, DataOutputStream::writeUTF)) {
+            dirty = true;
+        }
+    }
+}
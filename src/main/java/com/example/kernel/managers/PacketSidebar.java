@@ -0,0 +1,116 @@
+package com.example.kernel.managers;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDisplayScoreboard;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerScoreboardObjective;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerTeams;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerUpdateScore;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.entity.Player;
+
+import java.util.Optional;
+
+/**
+ * Sidebar that only exists on the client. Objective, team and score packets
+ * are sent directly through packetevents, so the server keeps nothing but the
+ * line arrays of the base class.
+ */
+class PacketSidebar extends Sidebar {
+    private static final String OBJECTIVE = "kernel_sidebar";
+    private static final int SIDEBAR_SLOT = 1;
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.builder()
+            .character('§')
+            .hexColors()
+            .useUnusualXRepeatedCharacterHexFormat()
+            .build();
+
+    private final String title;
+    private Player viewer;
+
+    PacketSidebar(String title, String[] lineNames) {
+        super(lineNames);
+        this.title = title;
+    }
+
+    @Override
+    void attach(Player player) {
+        this.viewer = player;
+
+        send(new WrapperPlayServerScoreboardObjective(OBJECTIVE,
+                WrapperPlayServerScoreboardObjective.ObjectiveMode.CREATE,
+                LEGACY.deserialize(title),
+                WrapperPlayServerScoreboardObjective.RenderType.INTEGER));
+        send(new WrapperPlayServerDisplayScoreboard(SIDEBAR_SLOT, OBJECTIVE));
+
+        for (int i = 0; i < lineNames.length; i++) {
+            int score = getScore(i);
+            String entry = getUniqueCode(score);
+
+            send(new WrapperPlayServerTeams(teamName(i), WrapperPlayServerTeams.TeamMode.CREATE,
+                    Optional.of(teamInfo(i)), entry));
+            send(new WrapperPlayServerUpdateScore(entry,
+                    WrapperPlayServerUpdateScore.Action.CREATE_OR_UPDATE_ITEM, OBJECTIVE, Optional.of(score)));
+        }
+    }
+
+    @Override
+    void detach(Player player) {
+        if (viewer == null) {
+            return;
+        }
+
+        for (int i = 0; i < lineNames.length; i++) {
+            send(new WrapperPlayServerTeams(teamName(i), WrapperPlayServerTeams.TeamMode.REMOVE,
+                    Optional.empty()));
+        }
+        send(new WrapperPlayServerScoreboardObjective(OBJECTIVE,
+                WrapperPlayServerScoreboardObjective.ObjectiveMode.REMOVE,
+                Component.empty(),
+                WrapperPlayServerScoreboardObjective.RenderType.INTEGER));
+        viewer = null;
+    }
+
+    @Override
+    boolean isAttached(Player player) {
+        return viewer == player;
+    }
+
+    @Override
+    void destroy() {
+        // Nothing is registered on the server
+    }
+
+    @Override
+    protected void applyLine(int index, boolean prefixChanged, boolean suffixChanged) {
+        // Lines rendered before attach are sent with the team creation
+        if (viewer == null) {
+            return;
+        }
+
+        send(new WrapperPlayServerTeams(teamName(index), WrapperPlayServerTeams.TeamMode.UPDATE,
+                Optional.of(teamInfo(index))));
+    }
+
+    private WrapperPlayServerTeams.ScoreBoardTeamInfo teamInfo(int index) {
+        return new WrapperPlayServerTeams.ScoreBoardTeamInfo(
+                Component.text(lineNames[index]),
+                prefixes[index] != null ? LEGACY.deserialize(prefixes[index]) : Component.empty(),
+                suffixes[index] != null ? LEGACY.deserialize(suffixes[index]) : Component.empty(),
+                WrapperPlayServerTeams.NameTagVisibility.ALWAYS,
+                WrapperPlayServerTeams.CollisionRule.ALWAYS,
+                NamedTextColor.WHITE,
+                WrapperPlayServerTeams.OptionData.NONE);
+    }
+
+    // Prefixed so they never clash with teams of the server-side scoreboard
+    private String teamName(int index) {
+        return "kernel_" + lineNames[index];
+    }
+
+    private void send(PacketWrapper<?> packet) {
+        PacketEvents.getAPI().getPlayerManager().sendPacket(viewer, packet);
+    }
+}
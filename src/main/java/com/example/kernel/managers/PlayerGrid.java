@@ -0,0 +1,203 @@
+package com.example.kernel.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Positions of online players bucketed into square cells per world, so players
+ * near a point are found by looking at the few cells around it instead of every
+ * player. Kept up to date from movement events on the main thread; the last
+ * known positions can be read from any thread.
+ */
+public class PlayerGrid implements Listener {
+    // 32x32 block cells
+    private static final int CELL_SHIFT = 5;
+
+    private final Map<UUID, Map<Long, Set<Entry>>> worlds = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public PlayerGrid() {
+        // Players already online when the plugin is (re)loaded
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            add(player);
+        }
+    }
+
+    /**
+     * @return Players in the same world as the given player within radius blocks
+     *         of their last known position, including the player
+     */
+    public List<Player> getNearby(Player player, double radius) {
+        List<Player> nearby = new ArrayList<>();
+        Entry center = entries.get(player.getUniqueId());
+        if (center == null) {
+            return nearby;
+        }
+
+        UUID world = center.world;
+        Map<Long, Set<Entry>> cells = worlds.get(world);
+        if (cells == null) {
+            return nearby;
+        }
+
+        double x = center.x;
+        double y = center.y;
+        double z = center.z;
+        int minX = floor(x - radius) >> CELL_SHIFT;
+        int maxX = floor(x + radius) >> CELL_SHIFT;
+        int minZ = floor(z - radius) >> CELL_SHIFT;
+        int maxZ = floor(z + radius) >> CELL_SHIFT;
+        double radiusSquared = radius * radius;
+
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+                Set<Entry> cell = cells.get(cellKey(cellX, cellZ));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell) {
+                    double dx = entry.x - x;
+                    double dy = entry.y - y;
+                    double dz = entry.z - z;
+                    if (world.equals(entry.world) && dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                        nearby.add(entry.player);
+                    }
+                }
+            }
+        }
+        return nearby;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Entry entry = entries.remove(event.getPlayer().getUniqueId());
+        if (entry != null) {
+            removeFromCell(entry);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        move(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        move(event.getPlayer(), event.getTo());
+    }
+
+    // Riding players get no move events of their own, they move with the vehicle
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent event) {
+        for (Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof Player) {
+                move((Player) passenger, event.getTo());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        move(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    private void add(Player player) {
+        Location location = player.getLocation();
+        Entry entry = new Entry(player, location.getWorld().getUID(), cellKey(location));
+        entry.setPosition(location);
+        entries.put(player.getUniqueId(), entry);
+        addToCell(entry);
+    }
+
+    private void move(Player player, Location to) {
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry == null || to == null || to.getWorld() == null) {
+            return;
+        }
+
+        entry.setPosition(to);
+        UUID world = to.getWorld().getUID();
+        long cell = cellKey(to);
+        // Most moves stay inside the same cell, which costs nothing more
+        if (cell == entry.cell && world.equals(entry.world)) {
+            return;
+        }
+
+        removeFromCell(entry);
+        entry.world = world;
+        entry.cell = cell;
+        addToCell(entry);
+    }
+
+    private void addToCell(Entry entry) {
+        worlds.computeIfAbsent(entry.world, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(entry.cell, key -> ConcurrentHashMap.newKeySet())
+            .add(entry);
+    }
+
+    private void removeFromCell(Entry entry) {
+        Map<Long, Set<Entry>> cells = worlds.get(entry.world);
+        if (cells != null) {
+            // Empty cells are dropped so the map only holds occupied ones
+            cells.computeIfPresent(entry.cell, (key, cell) -> cell.remove(entry) && cell.isEmpty() ? null : cell);
+        }
+    }
+
+    private static long cellKey(Location location) {
+        return cellKey(location.getBlockX() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int floor(double value) {
+        int floor = (int) value;
+        return value < floor ? floor - 1 : floor;
+    }
+
+    private static final class Entry {
+        private final Player player;
+        // Written on the main thread only
+        private volatile UUID world;
+        private volatile long cell;
+        private volatile double x;
+        private volatile double y;
+        private volatile double z;
+
+        private Entry(Player player, UUID world, long cell) {
+            this.player = player;
+            this.world = world;
+            this.cell = cell;
+        }
+
+        private void setPosition(Location location) {
+            x = location.getX();
+            y = location.getY();
+            z = location.getZ();
+        }
+    }
+}
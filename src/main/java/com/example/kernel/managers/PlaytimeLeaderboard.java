@@ -0,0 +1,149 @@
+package com.example.kernel.managers;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Every tracked player ordered by playtime, most first. A treap where each
+ * node knows the size of its subtree, so a player is moved in O(log n) and a
+ * page of the ranking is read in O(log n + page) without sorting anything.
+ */
+final class PlaytimeLeaderboard {
+    private final Map<UUID, Long> ranked = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    /**
+     * Moves the player to the position of the new playtime, inserting them if needed.
+     */
+    synchronized void update(UUID uuid, long millis) {
+        Long previous = ranked.put(uuid, millis);
+        if (previous != null) {
+            if (previous == millis) {
+                return;
+            }
+            root = remove(root, previous, uuid);
+        }
+
+        Node[] parts = split(root, millis, uuid);
+        root = merge(merge(parts[0], new Node(uuid, millis, random.nextInt())), parts[1]);
+    }
+
+    synchronized int size() {
+        return ranked.size();
+    }
+
+    /**
+     * @return Up to count players from the given rank on (0 = most playtime), with the playtime they are ranked by
+     */
+    synchronized List<Map.Entry<UUID, Long>> page(int offset, int count) {
+        List<Map.Entry<UUID, Long>> entries = new ArrayList<>(Math.max(0, Math.min(count, ranked.size() - offset)));
+        collect(root, offset, count, entries);
+        return entries;
+    }
+
+    // In-order walk that skips whole subtrees left of the offset
+    private static void collect(Node node, int offset, int count, List<Map.Entry<UUID, Long>> entries) {
+        if (node == null || entries.size() >= count) {
+            return;
+        }
+
+        int leftSize = size(node.left);
+        if (offset < leftSize) {
+            collect(node.left, offset, count, entries);
+        }
+        if (offset <= leftSize && entries.size() < count) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(node.uuid, node.millis));
+        }
+        collect(node.right, Math.max(0, offset - leftSize - 1), count, entries);
+    }
+
+    // Left part gets everything ranked before (millis, uuid)
+    private static Node[] split(Node node, long millis, UUID uuid) {
+        if (node == null) {
+            return new Node[2];
+        }
+
+        if (node.before(millis, uuid)) {
+            Node[] parts = split(node.right, millis, uuid);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+
+        Node[] parts = split(node.left, millis, uuid);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node remove(Node node, long millis, UUID uuid) {
+        if (node == null) {
+            return null;
+        }
+
+        if (node.millis == millis && node.uuid.equals(uuid)) {
+            return merge(node.left, node.right);
+        }
+        if (node.before(millis, uuid)) {
+            node.right = remove(node.right, millis, uuid);
+        } else {
+            node.left = remove(node.left, millis, uuid);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static final class Node {
+        private final UUID uuid;
+        private final long millis;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(UUID uuid, long millis, int priority) {
+            this.uuid = uuid;
+            this.millis = millis;
+            this.priority = priority;
+        }
+
+        // Whether this node is ranked before (millis, uuid), ties broken by UUID
+        private boolean before(long millis, UUID uuid) {
+            return this.millis != millis ? this.millis > millis : this.uuid.compareTo(uuid) < 0;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
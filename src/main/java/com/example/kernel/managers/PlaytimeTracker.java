@@ -0,0 +1,232 @@
+package com.example.kernel.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Statistic;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.kernel.Kernel;
+
+import java.io.DataInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Playtime of every player who has joined, kept in memory so reading it never
+ * touches the statistics files. Online players accumulate a running session on
+ * top of their stored total. Totals are written behind to playtime.dat, a flat
+ * file of fixed-size records, every few minutes and when the plugin is disabled.
+ * A leaderboard is kept up to date alongside, online players are moved in it
+ * once a minute.
+ */
+public class PlaytimeTracker implements Listener {
+    private static final int MAGIC = 0x4B504C54;
+    private static final int VERSION = 1;
+    // Bukkit counts play time in ticks
+    private static final long MILLIS_PER_TICK = 50;
+
+    private final Kernel plugin;
+    private final RecordFile file;
+    private final Map<UUID, Record> records = new ConcurrentHashMap<>();
+    private final PlaytimeLeaderboard leaderboard = new PlaytimeLeaderboard();
+    private final BukkitTask saveTask;
+    private final BukkitTask rankTask;
+    private volatile boolean dirty;
+
+    public PlaytimeTracker(Kernel plugin) {
+        this.plugin = plugin;
+        this.file = new RecordFile(plugin, "playtime.dat", MAGIC, VERSION);
+
+        Map<UUID, Long> loaded = file.load(DataInputStream::readLong);
+        if (loaded != null) {
+            for (Map.Entry<UUID, Long> entry : loaded.entrySet()) {
+                records.put(entry.getKey(), new Record(entry.getValue(), 0, false));
+                leaderboard.update(entry.getKey(), entry.getValue());
+            }
+        } else {
+            importStatistics();
+        }
+        // Players already online when the plugin is (re)loaded
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            startSession(player);
+        }
+
+        long interval = TimeUnit.SECONDS.toMillis(Math.max(10, plugin.getConfig().getLong("playtime.save-interval", 300))) / MILLIS_PER_TICK;
+        this.saveTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::save, interval, interval);
+        this.rankTask = Bukkit.getScheduler().runTaskTimer(plugin, this::rankOnlinePlayers, 1200, 1200);
+    }
+
+    /**
+     * @return Total playtime in milliseconds including the current session, or -1 if the player never joined
+     */
+    public long getPlaytime(UUID uuid) {
+        Record record = records.get(uuid);
+        return record != null ? record.total(System.nanoTime()) : -1;
+    }
+
+    public long getPlaytime(OfflinePlayer player) {
+        return getPlaytime(player.getUniqueId());
+    }
+
+    public int getTrackedCount() {
+        return records.size();
+    }
+
+    /**
+     * Reads a page of the leaderboard from memory.
+     *
+     * @param offset Rank to start at, 0 = most playtime
+     * @return Up to count players with the playtime they are ranked by, in milliseconds
+     */
+    public List<Map.Entry<UUID, Long>> getTop(int offset, int count) {
+        return leaderboard.page(offset, count);
+    }
+
+    public int getRankedCount() {
+        return leaderboard.size();
+    }
+
+    /**
+     * Ends every session and writes the totals, used when the plugin is disabled.
+     */
+    public void shutdown() {
+        saveTask.cancel();
+        rankTask.cancel();
+        long now = System.nanoTime();
+        for (Map.Entry<UUID, Record> entry : records.entrySet()) {
+            if (entry.getValue().online) {
+                put(entry.getKey(), new Record(entry.getValue().total(now), 0, false));
+            }
+        }
+        save();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        startSession(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Record record = records.get(event.getPlayer().getUniqueId());
+        if (record != null && record.online) {
+            put(event.getPlayer().getUniqueId(), new Record(record.total(System.nanoTime()), 0, false));
+        }
+    }
+
+    private void startSession(Player player) {
+        Record record = records.get(player.getUniqueId());
+        // First time seen, carry over what the server counted before
+        long stored = record != null ? record.total(System.nanoTime())
+                : player.getStatistic(Statistic.PLAY_ONE_MINUTE) * MILLIS_PER_TICK;
+        put(player.getUniqueId(), new Record(stored, System.nanoTime(), true));
+    }
+
+    private void put(UUID uuid, Record record) {
+        records.put(uuid, record);
+        leaderboard.update(uuid, record.stored);
+        dirty = true;
+    }
+
+    // Sessions accrue continuously, so online players are moved up periodically
+    private void rankOnlinePlayers() {
+        long now = System.nanoTime();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Record record = records.get(player.getUniqueId());
+            if (record != null) {
+                leaderboard.update(player.getUniqueId(), record.total(now));
+            }
+        }
+    }
+
+    // First run, the vanilla statistics are read once off the main thread
+    private void importStatistics() {
+        OfflinePlayer[] players = Bukkit.getOfflinePlayers();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            for (OfflinePlayer player : players) {
+                try {
+                    Record record = new Record(player.getStatistic(Statistic.PLAY_ONE_MINUTE) * MILLIS_PER_TICK, 0, false);
+                    if (records.putIfAbsent(player.getUniqueId(), record) == null) {
+                        leaderboard.update(player.getUniqueId(), record.stored);
+                    }
+                } catch (RuntimeException e) {
+                    // No statistics file
+                }
+            }
+            dirty = true;
+            plugin.getLogger().info("Imported the playtime of " + players.length + " players.");
+        });
+    }
+
+    private void save() {
+        if (!dirty && !hasOnlineSessions()) {
+            return;
+        }
+        dirty = false;
+
+        long now = System.nanoTime();
+        if (!file.save(records, (out, record) -> out.writeLong(record.total(now)))) {
+            dirty = true;
+        }
+    }
+
+    private boolean hasOnlineSessions() {
+        for (Record record : records.values()) {
+            if (record.online) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The days, hours, minutes or seconds part of a playtime, as the statistic placeholders show it
+     */
+    public static long part(long millis, TimeUnit unit) {
+        switch (unit) {
+            case DAYS:
+                return TimeUnit.MILLISECONDS.toDays(millis);
+            case HOURS:
+                return TimeUnit.MILLISECONDS.toHours(millis) % 24;
+            case MINUTES:
+                return TimeUnit.MILLISECONDS.toMinutes(millis) % 60;
+            default:
+                return TimeUnit.MILLISECONDS.toSeconds(millis) % 60;
+        }
+    }
+
+    /**
+     * @return e.g. 2d, 5h, 13m or 2d, 5h, 13m, 8s
+     */
+    public static String format(long millis, boolean seconds) {
+        String formatted = part(millis, TimeUnit.DAYS) + "d, " + part(millis, TimeUnit.HOURS) + "h, "
+                + part(millis, TimeUnit.MINUTES) + "m";
+        return seconds ? formatted + ", " + part(millis, TimeUnit.SECONDS) + "s" : formatted;
+    }
+
+    // Immutable, replaced as a whole so the async readers never see half an update
+    private static final class Record {
+        private final long stored;
+        private final long sessionStart;
+        private final boolean online;
+
+        private Record(long stored, long sessionStart, boolean online) {
+            this.stored = stored;
+            this.sessionStart = sessionStart;
+            this.online = online;
+        }
+
+        private long total(long now) {
+            return online ? stored + TimeUnit.NANOSECONDS.toMillis(now - sessionStart) : stored;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.kernel.managers;
+
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.model.user.User;
+import net.luckperms.api.model.user.UserManager;
+import net.luckperms.api.node.NodeType;
+import net.luckperms.api.node.types.InheritanceNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Changes the rank of a single player, for /rank and the bulk updates. Only
+ * the group being replaced is removed, so a player keeps the groups they have
+ * on other tracks. The user is loaded if they are offline and unloaded again
+ * afterwards, and nothing waits on the main thread.
+ */
+public class RankUpdater {
+    private final LuckPerms luckPerms;
+    private final TrackIndex trackIndex;
+
+    public RankUpdater(LuckPerms luckPerms, TrackIndex trackIndex) {
+        this.luckPerms = luckPerms;
+        this.trackIndex = trackIndex;
+    }
+
+    /**
+     * Gives the player the rank in place of the groups they have on the same
+     * track as it. If they have none, it replaces their primary group only when
+     * that group is on no track, and is added next to their groups otherwise.
+     * Groups on other tracks are always kept.
+     *
+     * @return The change once saved; its new rank is null if the player already has the rank,
+     *         its old rank is null if no group was replaced
+     */
+    public CompletableFuture<Change> setRank(UUID uuid, String rank) {
+        return change(uuid, user -> {
+            List<InheritanceNode> groups = groups(user);
+            for (InheritanceNode group : groups) {
+                if (group.getGroupName().equalsIgnoreCase(rank)) {
+                    return new Change(user, group.getGroupName(), null, Collections.emptyList());
+                }
+            }
+
+            List<InheritanceNode> replaced = new ArrayList<>();
+            for (InheritanceNode group : groups) {
+                if (trackIndex.shareTrack(group.getGroupName(), rank)) {
+                    replaced.add(group);
+                }
+            }
+            // The primary group is the highest weighted one, often a staff rank on a track of its own
+            String primaryGroup = user.getPrimaryGroup();
+            if (replaced.isEmpty() && !trackIndex.isOnTrack(primaryGroup)) {
+                for (InheritanceNode group : groups) {
+                    if (group.getGroupName().equalsIgnoreCase(primaryGroup)) {
+                        replaced.add(group);
+                    }
+                }
+            }
+            String oldRank = replaced.isEmpty() ? null : replaced.get(0).getGroupName();
+            return new Change(user, oldRank, rank, replaced);
+        });
+    }
+
+    /**
+     * Moves the player from their highest group on the track to the one steps
+     * away. A player with no group on the track counts as being just below its
+     * first group.
+     *
+     * @param step 1 to promote, -1 to demote
+     * @return The change once saved; its new rank is null if that is past either end of the track,
+     *         its old rank is null if the player had no group on the track
+     */
+    public CompletableFuture<Change> moveOnTrack(UUID uuid, String track, int step) {
+        return change(uuid, user -> {
+            InheritanceNode current = null;
+            int position = -1;
+            for (InheritanceNode group : groups(user)) {
+                int groupPosition = trackIndex.position(track, group.getGroupName());
+                if (groupPosition > position) {
+                    position = groupPosition;
+                    current = group;
+                }
+            }
+
+            if (current == null) {
+                return new Change(user, null, trackIndex.group(track, step - 1), Collections.emptyList());
+            }
+            return new Change(user, current.getGroupName(), trackIndex.group(track, position + step),
+                    Collections.singletonList(current));
+        });
+    }
+
+    private CompletableFuture<Change> change(UUID uuid, Function<User, Change> plan) {
+        UserManager userManager = luckPerms.getUserManager();
+        User loaded = userManager.getUser(uuid);
+        CompletableFuture<User> user = loaded != null ? CompletableFuture.completedFuture(loaded) : userManager.loadUser(uuid);
+
+        return user.thenCompose(target -> {
+            Change change = plan.apply(target);
+            CompletableFuture<Change> saved = CompletableFuture.completedFuture(change);
+            if (change.newRank != null) {
+                for (InheritanceNode node : change.replaced) {
+                    target.data().remove(node);
+                }
+                target.data().add(InheritanceNode.builder(change.newRank).build());
+                saved = userManager.saveUser(target).thenApply(result -> change);
+            }
+            // Offline players loaded only for this are unloaded again, whether it worked or not,
+            // or a bulk update would leave thousands of them behind
+            return loaded != null ? saved : saved.whenComplete((result, error) -> userManager.cleanupUser(target));
+        });
+    }
+
+    // The groups set on the player themselves, not the ones inherited through them
+    private static List<InheritanceNode> groups(User user) {
+        return new ArrayList<>(user.getNodes(NodeType.INHERITANCE));
+    }
+
+    public static final class Change {
+        private final UUID uuid;
+        private final String username;
+        private final String oldRank;
+        private final String newRank;
+        private final List<InheritanceNode> replaced;
+
+        private Change(User user, String oldRank, String newRank, List<InheritanceNode> replaced) {
+            this.uuid = user.getUniqueId();
+            this.username = user.getUsername();
+            this.oldRank = oldRank;
+            this.newRank = newRank;
+            this.replaced = replaced;
+        }
+
+        public UUID getUniqueId() {
+            return uuid;
+        }
+
+        /**
+         * @return The name LuckPerms has stored, may be null
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * @return The rank that was replaced, or null if the new one was only added
+         */
+        public String getOldRank() {
+            return oldRank;
+        }
+
+        /**
+         * @return The rank the player has now, or null if it was left as it was
+         */
+        public String getNewRank() {
+            return newRank;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.kernel.managers;
+
+import com.example.kernel.Kernel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * A flat file holding one record per player UUID, the storage behind the
+ * playtime and the name index. Written whole to a temporary file that is
+ * moved over the old one, so a crash never leaves half a file. A file that
+ * fails to load is moved aside instead of being overwritten by the next save.
+ */
+final class RecordFile {
+    private final Kernel plugin;
+    private final File file;
+    private final int magic;
+    private final int version;
+    private final Object lock = new Object();
+    // Set when a broken file could not be moved out of the way
+    private volatile boolean disabled;
+
+    RecordFile(Kernel plugin, String name, int magic, int version) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), name);
+        this.magic = magic;
+        this.version = version;
+    }
+
+    /**
+     * Reads the whole file before returning anything, a broken file loads nothing.
+     *
+     * @return The records, or null if there is no usable file yet and the caller should start over
+     */
+    <V> Map<UUID, V> load(ValueReader<V> reader) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        Map<UUID, V> loaded = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != magic || in.readInt() != version) {
+                throw new IOException("Unknown file format");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                loaded.put(new UUID(in.readLong(), in.readLong()), reader.read(in));
+            }
+            return loaded;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load " + file.getName(), e);
+            moveAside();
+            return null;
+        }
+    }
+
+    /**
+     * @return False if writing failed and should be tried again later
+     */
+    <V> boolean save(Map<UUID, V> records, ValueWriter<V> writer) {
+        if (disabled) {
+            return true;
+        }
+
+        synchronized (lock) {
+            File temp = new File(file.getPath() + ".tmp");
+            try {
+                File folder = file.getParentFile();
+                if (!folder.isDirectory() && !folder.mkdirs()) {
+                    throw new IOException("Could not create " + folder);
+                }
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                    // Copied first so the count matches the records written
+                    Map<UUID, V> snapshot = new HashMap<>(records);
+                    out.writeInt(magic);
+                    out.writeInt(version);
+                    out.writeInt(snapshot.size());
+                    for (Map.Entry<UUID, V> entry : snapshot.entrySet()) {
+                        out.writeLong(entry.getKey().getMostSignificantBits());
+                        out.writeLong(entry.getKey().getLeastSignificantBits());
+                        writer.write(out, entry.getValue());
+                    }
+                }
+                // Never leaves a half written file behind
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to save " + file.getName(), e);
+                return false;
+            }
+        }
+    }
+
+    // Kept for a manual look instead of being overwritten by the next save
+    private void moveAside() {
+        File corrupt = new File(file.getPath() + ".corrupt");
+        if (corrupt.exists()) {
+            corrupt = new File(file.getPath() + ".corrupt-" + System.currentTimeMillis());
+        }
+
+        try {
+            Files.move(file.toPath(), corrupt.toPath());
+        } catch (IOException e) {
+            disabled = true;
+            plugin.getLogger().log(Level.SEVERE, "Could not move " + file.getName() + " aside, it will not be saved", e);
+            return;
+        }
+        plugin.getLogger().severe("Moved " + file.getName() + " to " + corrupt.getName() + ", starting over.");
+    }
+
+    interface ValueReader<V> {
+        V read(DataInputStream in) throws IOException;
+    }
+
+    interface ValueWriter<V> {
+        void write(DataOutputStream out, V value) throws IOException;
+    }
+}
@@ -1,163 +1,363 @@
 package com.example.kernel.managers;
 
-import me.clip.placeholderapi.PlaceholderAPI;
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scoreboard.DisplaySlot;
-import org.bukkit.scoreboard.Objective;
-import org.bukkit.scoreboard.Scoreboard;
-import org.bukkit.scoreboard.Team;
-import java.awt.Color;
-import net.md_5.bungee.api.ChatColor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.example.kernel.Kernel;
 
 public class ScoreboardManager implements Listener {
     private final Kernel plugin;
-    private final String LOGO = ""; // Unicode logo character from your resource pack
-    
-    // Parse the primary color as RGB
-    private final ChatColor PRIMARY_COLOR = ChatColor.of(new Color(255, 236, 184)); // #ffecb8
-    private final ChatColor SECONDARY_COLOR = ChatColor.of(new Color(255, 215, 105)); // #ffd769
+    private final PlaytimeTracker playtimeTracker;
 
-    public ScoreboardManager(Kernel plugin) {
+    // Players are split into shards by UUID hash and one shard is updated per tick,
+    // so every board is still visited once per second without a spike every 20 ticks
+    private static final int SHARDS = 20;
+
+    private final Map<UUID, Sidebar> sidebars = new HashMap<>();
+    private final List<List<Player>> shards = new ArrayList<>(SHARDS);
+    private final long[] shardNanos = new long[SHARDS];
+    private final Queue<LineSnapshot> resolvedSnapshots = new ConcurrentLinkedQueue<>();
+    // Sidebars of players who left, handed to the next player who joins
+    private final Deque<Sidebar> pool = new ArrayDeque<>();
+    private final int poolSize;
+    private final boolean packetBackend;
+    private int liveBoards;
+    private SidebarLayout layout;
+    private SidebarLayout.ServerValues serverValues;
+    private long currentTick;
+
+    public ScoreboardManager(Kernel plugin, LuckPerms luckPerms, PlaytimeTracker playtimeTracker) {
         this.plugin = plugin;
+        this.playtimeTracker = playtimeTracker;
+        this.packetBackend = usePacketBackend();
+        this.poolSize = Math.max(0, plugin.getConfig().getInt("scoreboard.pool-size", 64));
+        this.layout = compileLayout();
+        if (luckPerms != null) {
+            luckPerms.getEventBus().subscribe(plugin, UserDataRecalculateEvent.class, this::onUserDataRecalculate);
+        }
+
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(new ArrayList<>());
+        }
+        // Players already online when the plugin is (re)loaded
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            shards.get(shardOf(player.getUniqueId())).add(player);
+        }
         startScoreboardUpdater();
     }
 
+    private boolean usePacketBackend() {
+        if (!plugin.getConfig().getString("scoreboard.backend", "bukkit").equalsIgnoreCase("packet")) {
+            return false;
+        }
+        if (!Bukkit.getPluginManager().isPluginEnabled("packetevents")) {
+            plugin.getLogger().warning("Scoreboard backend 'packet' needs packetevents, falling back to 'bukkit'.");
+            return false;
+        }
+        return true;
+    }
+
+    private SidebarLayout compileLayout() {
+        try {
+            return SidebarLayout.compile(plugin.getConfig().getConfigurationSection("scoreboard"), playtimeTracker);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().severe("Invalid scoreboard layout, using the default one: " + e.getMessage());
+            return SidebarLayout.compile(plugin.getConfig().getDefaultSection().getConfigurationSection("scoreboard"), playtimeTracker);
+        }
+    }
+
+    /**
+     * Compiles the layout from the current config and swaps it in, rebuilding the
+     * sidebar of every online player. The old layout stays if the new one is invalid.
+     *
+     * @return Whether the new layout was valid
+     */
+    public boolean reloadLayout() {
+        SidebarLayout compiled;
+        try {
+            compiled = SidebarLayout.compile(plugin.getConfig().getConfigurationSection("scoreboard"), playtimeTracker);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().severe("Invalid scoreboard layout, keeping the current one: " + e.getMessage());
+            return false;
+        }
+
+        // Boards are built for a fixed set of lines, so none of them can be reused
+        Sidebar pooled;
+        while ((pooled = pool.poll()) != null) {
+            destroySidebar(pooled);
+        }
+        layout = compiled;
+        serverValues = null;
+
+        for (List<Player> shard : shards) {
+            for (Player player : shard) {
+                Sidebar sidebar = sidebars.remove(player.getUniqueId());
+                if (sidebar != null) {
+                    sidebar.detach(player);
+                    destroySidebar(sidebar);
+                }
+                createScoreboard(player);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every sidebar from its player, used when the plugin is disabled.
+     */
+    public void shutdown() {
+        for (List<Player> shard : shards) {
+            for (Player player : shard) {
+                Sidebar sidebar = sidebars.remove(player.getUniqueId());
+                if (sidebar != null) {
+                    sidebar.detach(player);
+                    destroySidebar(sidebar);
+                }
+            }
+            shard.clear();
+        }
+
+        Sidebar pooled;
+        while ((pooled = pool.poll()) != null) {
+            destroySidebar(pooled);
+        }
+    }
+
+    /**
+     * @return Sidebars that have been created and not destroyed yet, in use or pooled
+     */
+    public int getLiveBoards() {
+        return liveBoards;
+    }
+
+    public int getActiveBoards() {
+        return sidebars.size();
+    }
+
+    public int getPooledBoards() {
+        return pool.size();
+    }
+
+    /**
+     * @return The time in nanoseconds the last update of each shard took
+     */
+    public long[] getShardNanos() {
+        return shardNanos.clone();
+    }
+
+    public int getShardSize(int shard) {
+        return shards.get(shard).size();
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        createScoreboard(event.getPlayer());
+        Player player = event.getPlayer();
+        shards.get(shardOf(player.getUniqueId())).add(player);
+        createScoreboard(player);
     }
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
-        event.getPlayer().setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+        Player player = event.getPlayer();
+        shards.get(shardOf(player.getUniqueId())).remove(player);
+        Sidebar sidebar = sidebars.remove(player.getUniqueId());
+        if (sidebar != null) {
+            releaseSidebar(player, sidebar);
+        }
     }
 
-    private void createScoreboard(Player player) {
-        Scoreboard board = Bukkit.getScoreboardManager().getNewScoreboard();
-        
-        // Use the LOGO as the title with RGB color support
-        Objective obj = board.registerNewObjective("main", "dummy", LOGO);
-            
-        obj.setDisplaySlot(DisplaySlot.SIDEBAR);
-        updateScoreboard(player, obj, board);
-        player.setScoreboard(board);
-    }
-
-    private void updateScoreboard(Player player, Objective obj, Scoreboard board) {
-        // Clear existing scores
-        for (String entry : player.getScoreboard().getEntries()) {
-            player.getScoreboard().resetScores(entry);
-        }
-    
-        // Get values from PlaceholderAPI
-        String rankPrefix = PlaceholderAPI.setPlaceholders(player, "%luckperms_prefix%");
-        String playerName = PlaceholderAPI.setPlaceholders(player, "%player_name%");
-        String ping = PlaceholderAPI.setPlaceholders(player, "%player_ping%");
-        String tps = PlaceholderAPI.setPlaceholders(player, "%server_tps_1_colored%");
-        String date = PlaceholderAPI.setPlaceholders(player, "%localtime_time_MMM d, Y%");
-        String playtime = String.format("%sd, %sh, %sm",
-            PlaceholderAPI.setPlaceholders(player, "%statistic_time_played:days%"),
-            PlaceholderAPI.setPlaceholders(player, "%statistic_time_played:hours%"),
-            PlaceholderAPI.setPlaceholders(player, "%statistic_time_played:minutes%")
-        );
-        String serverIP = "ᴘʟᴀʏ.ᴋᴇʀɴᴇʟ.ɢᴀᴍᴇѕ";
-    
-        // Create teams with RGB colors and formatting
-        createTeamLine(board, "line1", ChatColor.STRIKETHROUGH + "                                 ", 10, ChatColor.DARK_GRAY);
-        createTeamLine(board, "date", ChatColor.GRAY + "        ⏰ " + date, 9, PRIMARY_COLOR);
-        createTeamLine(board, "player", "" + SECONDARY_COLOR + ChatColor.BOLD + playerName, 8, PRIMARY_COLOR);
-        createTeamLine(board, "rank", "  " + ChatColor.WHITE + " " + PRIMARY_COLOR + "Rank: ", 7, PRIMARY_COLOR, ChatColor.WHITE, rankPrefix);
-        createTeamLine(board, "ping", "  " + ChatColor.WHITE + " " + PRIMARY_COLOR + "Ping: ", 6, PRIMARY_COLOR, ChatColor.WHITE, ping + "ms");
-        createTeamLine(board, "tps", "  " + ChatColor.WHITE + " " + PRIMARY_COLOR + "TPS: ", 5, PRIMARY_COLOR, ChatColor.WHITE, tps);
-        createTeamLine(board, "playtime", "  " + ChatColor.WHITE + " " + PRIMARY_COLOR + "Playtime: ", 4, PRIMARY_COLOR, ChatColor.WHITE, playtime);
-        createTeamLine(board, "blank1", " ", 3, PRIMARY_COLOR);
-        createTeamLine(board, "ip", " ", 2, ChatColor.GRAY, ChatColor.GRAY, serverIP);
-        createTeamLine(board, "line2", ChatColor.STRIKETHROUGH + "                                ", 1, ChatColor.DARK_GRAY);
-    }
-    
-    private void createTeamLine(Scoreboard board, String name, String text, int score, ChatColor prefixColor, ChatColor valueColor, String value) {
-        // Create a unique entry for this line
-        String entry = getUniqueCode(score);
-        
-        // Register a team for this line
-        Team team = board.getTeam(name);
-        if (team == null) {
-            team = board.registerNewTeam(name);
-        }
-        
-        team.addEntry(entry);
-        
-        if (value != null && valueColor != null) {
-            team.setPrefix(prefixColor + text);
-            team.setSuffix(valueColor + value);
+    private void onUserDataRecalculate(UserDataRecalculateEvent event) {
+        // LuckPerms fires this off the main thread
+        UUID uuid = event.getUser().getUniqueId();
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            Sidebar sidebar = sidebars.get(uuid);
+            if (sidebar != null) {
+                for (int line : layout.getRankLines()) {
+                    sidebar.invalidate(line);
+                }
+            }
+        });
+    }
+
+    private Sidebar acquireSidebar() {
+        Sidebar sidebar = pool.poll();
+        if (sidebar != null) {
+            return sidebar;
+        }
+
+        liveBoards++;
+        return packetBackend
+            ? new PacketSidebar(layout.getTitle(), layout.getLineNames())
+            : new BukkitSidebar(layout.getTitle(), layout.getLineNames());
+    }
+
+    private void releaseSidebar(Player player, Sidebar sidebar) {
+        sidebar.detach(player);
+        if (pool.size() < poolSize) {
+            sidebar.reset();
+            pool.push(sidebar);
         } else {
-            team.setPrefix(prefixColor + text);
-        }
-        
-        // Set the score
-        board.getObjective("main").getScore(entry).setScore(score);
-    }
-    
-    // Add this overload for backward compatibility with existing code
-    private void createTeamLine(Scoreboard board, String name, String text, int score, ChatColor... colors) {
-        // Create a unique entry for this line
-        String entry = getUniqueCode(score);
-        
-        // Register a team for this line
-        Team team = board.getTeam(name);
-        if (team == null) {
-            team = board.registerNewTeam(name);
-        }
-        
-        team.addEntry(entry);
-        
-        // Apply colors and formatting
-        if (colors.length > 0) {
-            StringBuilder prefix = new StringBuilder();
-            
-            // First color applies to the prefix
-            prefix.append(colors[0]);
-            
-            // Additional color can be applied to specific parts in the text
-            if (text.contains(":") && colors.length > 1) {
-                String[] parts = text.split(":");
-                team.setPrefix(prefix + parts[0] + ":");
-                team.setSuffix(colors[1] + parts[1]);
+            destroySidebar(sidebar);
+        }
+    }
+
+    private void destroySidebar(Sidebar sidebar) {
+        sidebar.destroy();
+        liveBoards--;
+    }
+
+    private void createScoreboard(Player player) {
+        Sidebar sidebar = acquireSidebar();
+        Sidebar previous = sidebars.put(player.getUniqueId(), sidebar);
+        if (previous != null) {
+            releaseSidebar(player, previous);
+        }
+
+        if (serverValues == null) {
+            serverValues = layout.newServerValues();
+        }
+        // The first render is done in full on the main thread so the board never shows up empty
+        updateScoreboard(player, sidebar, serverValues, null);
+        sidebar.attach(player);
+    }
+
+    /**
+     * Renders the due sync lines right away. Due async lines are added to
+     * asyncWork, or rendered right away as well if asyncWork is null.
+     */
+    private void updateScoreboard(Player player, Sidebar sidebar, SidebarLayout.ServerValues server, List<LineRequest> asyncWork) {
+        int[] asyncLines = new int[layout.size()];
+        int asyncCount = 0;
+
+        for (int i = 0; i < layout.size(); i++) {
+            if (!sidebar.isDue(i, currentTick)) {
+                continue;
+            }
+
+            // Scheduled now so a line is never requested twice while it is being resolved
+            SidebarLayout.Line line = layout.getLine(i);
+            long refreshTicks = line.getRefreshTicks();
+            sidebar.scheduleRefresh(i, refreshTicks > 0 ? currentTick + refreshTicks : Long.MAX_VALUE);
+
+            if (line.isSync() || asyncWork == null) {
+                sidebar.setLine(i, line.renderPrefix(player, server), line.renderSuffix(player, server));
             } else {
-                team.setPrefix(prefix + text);
+                asyncLines[asyncCount++] = i;
             }
-        } else {
-            team.setPrefix(text);
         }
-        
-        // Set the score
-        board.getObjective("main").getScore(entry).setScore(score);
+
+        if (asyncCount > 0) {
+            asyncWork.add(new LineRequest(player, Arrays.copyOf(asyncLines, asyncCount)));
+        }
+    }
+
+    // Runs off the main thread
+    private void resolveLines(SidebarLayout layout, List<LineRequest> requests, SidebarLayout.ServerValues server) {
+        for (LineRequest request : requests) {
+            String[] prefixes = new String[request.lines.length];
+            String[] suffixes = new String[request.lines.length];
+            for (int i = 0; i < request.lines.length; i++) {
+                SidebarLayout.Line line = layout.getLine(request.lines[i]);
+                prefixes[i] = line.renderPrefix(request.player, server);
+                suffixes[i] = line.renderSuffix(request.player, server);
+            }
+            resolvedSnapshots.add(new LineSnapshot(layout, request.player.getUniqueId(), request.lines, prefixes, suffixes));
+        }
     }
-    
-    private String getUniqueCode(int index) {
-        // Use ChatColor values as unique entries for each line
-        return ChatColor.values()[index % ChatColor.values().length] + "" + 
-              ChatColor.values()[(index + 8) % ChatColor.values().length];
+
+    private void applyResolvedSnapshots() {
+        LineSnapshot snapshot;
+        while ((snapshot = resolvedSnapshots.poll()) != null) {
+            Sidebar sidebar = sidebars.get(snapshot.uuid);
+            if (sidebar == null || snapshot.layout != layout) {
+                continue; // Player left or the layout was reloaded while the lines were being resolved
+            }
+            for (int i = 0; i < snapshot.lines.length; i++) {
+                sidebar.setLine(snapshot.lines[i], snapshot.prefixes[i], snapshot.suffixes[i]);
+            }
+        }
     }
 
     private void startScoreboardUpdater() {
         Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                Scoreboard board = player.getScoreboard();
-                Objective obj = board.getObjective("main");
-                if (obj != null) {
-                    updateScoreboard(player, obj, board);
-                } else {
+            currentTick++;
+            int shard = (int) (currentTick % SHARDS);
+            if (shard == 0 || serverValues == null) {
+                serverValues = layout.newServerValues();
+            }
+
+            long start = System.nanoTime();
+            applyResolvedSnapshots();
+
+            List<LineRequest> asyncWork = new ArrayList<>();
+            for (Player player : shards.get(shard)) {
+                Sidebar sidebar = sidebars.get(player.getUniqueId());
+                if (sidebar == null) {
                     createScoreboard(player);
+                    continue;
                 }
+
+                // Another plugin swapped the player's scoreboard, take the existing board back
+                if (!sidebar.isAttached(player)) {
+                    sidebar.attach(player);
+                }
+                updateScoreboard(player, sidebar, serverValues, asyncWork);
             }
-        }, 20L, 20L); // Update every second
+
+            if (!asyncWork.isEmpty()) {
+                SidebarLayout currentLayout = layout;
+                SidebarLayout.ServerValues server = serverValues;
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> resolveLines(currentLayout, asyncWork, server));
+            }
+            shardNanos[shard] = System.nanoTime() - start;
+        }, 1L, 1L); // One shard per tick, so each board is visited every second
+    }
+
+    private static int shardOf(UUID uuid) {
+        return Math.floorMod(uuid.hashCode(), SHARDS);
+    }
+
+    // Lines of one player that still have to be resolved
+    private static final class LineRequest {
+        private final Player player;
+        private final int[] lines;
+
+        private LineRequest(Player player, int[] lines) {
+            this.player = player;
+            this.lines = lines;
+        }
+    }
+
+    // Resolved text of some lines of one player, applied on the main thread
+    private static final class LineSnapshot {
+        private final SidebarLayout layout;
+        private final UUID uuid;
+        private final int[] lines;
+        private final String[] prefixes;
+        private final String[] suffixes;
+
+        private LineSnapshot(SidebarLayout layout, UUID uuid, int[] lines, String[] prefixes, String[] suffixes) {
+            this.layout = layout;
+            this.uuid = uuid;
+            this.lines = lines;
+            this.prefixes = prefixes;
+            this.suffixes = suffixes;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.example.kernel.managers;
+
+import org.bukkit.entity.Player;
+import net.md_5.bungee.api.ChatColor;
+
+import java.util.Arrays;
+
+/**
+ * A single player's sidebar. Lines are registered once, and the last
+ * prefix/suffix sent for every line is kept so a refresh only touches the
+ * lines whose text actually changed. Subclasses decide how a line reaches
+ * the client.
+ */
+abstract class Sidebar {
+    protected final String[] lineNames;
+    protected final String[] prefixes;
+    protected final String[] suffixes;
+    private final long[] nextRefresh;
+
+    Sidebar(String[] lineNames) {
+        this.lineNames = lineNames;
+        this.prefixes = new String[lineNames.length];
+        this.suffixes = new String[lineNames.length];
+        this.nextRefresh = new long[lineNames.length];
+    }
+
+    abstract void attach(Player player);
+
+    abstract void detach(Player player);
+
+    abstract boolean isAttached(Player player);
+
+    // Releases everything the sidebar registered; it must not be used afterwards
+    abstract void destroy();
+
+    protected abstract void applyLine(int index, boolean prefixChanged, boolean suffixChanged);
+
+    /**
+     * @return true if anything was sent to the client
+     */
+    boolean setLine(int index, String prefix, String suffix) {
+        if (suffix == null) {
+            suffix = "";
+        }
+
+        boolean prefixChanged = !prefix.equals(prefixes[index]);
+        boolean suffixChanged = !suffix.equals(suffixes[index]);
+        if (!prefixChanged && !suffixChanged) {
+            return false;
+        }
+
+        prefixes[index] = prefix;
+        suffixes[index] = suffix;
+        applyLine(index, prefixChanged, suffixChanged);
+        return true;
+    }
+
+    boolean isDue(int index, long tick) {
+        return nextRefresh[index] <= tick;
+    }
+
+    void scheduleRefresh(int index, long tick) {
+        nextRefresh[index] = tick;
+    }
+
+    // Forces the line to be re-rendered on the next update
+    void invalidate(int index) {
+        nextRefresh[index] = 0;
+    }
+
+    // Prepares a released sidebar for its next player. The last rendered text is
+    // kept, so lines that read the same for the new player are not sent again.
+    void reset() {
+        Arrays.fill(nextRefresh, 0);
+    }
+
+    protected int getScore(int index) {
+        return lineNames.length - index;
+    }
+
+    protected static String getUniqueCode(int index) {
+        // Use ChatColor values as unique entries for each line
+        return ChatColor.values()[index % ChatColor.values().length] + "" +
+              ChatColor.values()[(index + 8) % ChatColor.values().length];
+    }
+}
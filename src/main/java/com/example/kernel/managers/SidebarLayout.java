@@ -0,0 +1,297 @@
+package com.example.kernel.managers;
+
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.ConfigurationSection;
+
+import com.example.kernel.utils.ColorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The sidebar as configured under scoreboard in config.yml, compiled once at
+ * load time. Static text is colorized up front and every placeholder becomes a
+ * slot resolved by index, so rendering never parses colors or placeholders.
+ */
+final class SidebarLayout {
+    static final int MAX_LINES = 15;
+
+    // Expansions whose values are the same for every player
+    private static final List<String> SERVER_EXPANSIONS = Arrays.asList("server", "localtime");
+    // Statistic placeholders answered by the playtime tracker instead of the statistics files
+    private static final Map<String, TimeUnit> PLAYTIME_UNITS = new HashMap<>();
+
+    static {
+        PLAYTIME_UNITS.put("time_played:days", TimeUnit.DAYS);
+        PLAYTIME_UNITS.put("time_played:hours", TimeUnit.HOURS);
+        PLAYTIME_UNITS.put("time_played:minutes", TimeUnit.MINUTES);
+        PLAYTIME_UNITS.put("time_played:seconds", TimeUnit.SECONDS);
+    }
+
+    private final String title;
+    private final String[] lineNames;
+    private final Line[] lines;
+    private final int[] rankLines;
+    private final int serverPlaceholderCount;
+
+    private SidebarLayout(String title, Line[] lines, int serverPlaceholderCount) {
+        this.title = title;
+        this.lines = lines;
+        this.serverPlaceholderCount = serverPlaceholderCount;
+        this.lineNames = new String[lines.length];
+
+        int rankLineCount = 0;
+        for (int i = 0; i < lines.length; i++) {
+            lineNames[i] = "line" + (i + 1);
+            if (lines[i].refreshOnRankChange) {
+                rankLineCount++;
+            }
+        }
+
+        this.rankLines = new int[rankLineCount];
+        for (int i = 0, j = 0; i < lines.length; i++) {
+            if (lines[i].refreshOnRankChange) {
+                rankLines[j++] = i;
+            }
+        }
+    }
+
+    /**
+     * @param section The scoreboard section of the config
+     * @param playtime Resolves the statistic_time_played placeholders without PlaceholderAPI
+     * @throws IllegalArgumentException If the layout is invalid
+     */
+    static SidebarLayout compile(ConfigurationSection section, PlaytimeTracker playtime) {
+        if (section == null) {
+            throw new IllegalArgumentException("Missing scoreboard section");
+        }
+
+        List<Map<?, ?>> lineSections = section.getMapList("lines");
+        if (lineSections.isEmpty() || lineSections.size() > MAX_LINES) {
+            throw new IllegalArgumentException("scoreboard.lines must have between 1 and " + MAX_LINES + " lines");
+        }
+
+        // Server-wide placeholders get a shared index so each is resolved once per cycle
+        Map<String, Integer> serverSlots = new HashMap<>();
+        Line[] lines = new Line[lineSections.size()];
+
+        for (int i = 0; i < lines.length; i++) {
+            Map<?, ?> map = lineSections.get(i);
+            Object text = map.get("text");
+            Object value = map.get("value");
+            Object refresh = map.get("refresh");
+
+            long refreshTicks = refresh instanceof Number ? ((Number) refresh).longValue() : 0;
+            if (refreshTicks < 0) {
+                throw new IllegalArgumentException("Line " + (i + 1) + " has a negative refresh period");
+            }
+
+            lines[i] = new Line(
+                Template.compile(text != null ? text.toString() : "", serverSlots, playtime),
+                value != null ? Template.compile(value.toString(), serverSlots, playtime) : null,
+                refreshTicks,
+                Boolean.TRUE.equals(map.get("sync")),
+                Boolean.TRUE.equals(map.get("refresh-on-rank-change"))
+            );
+        }
+
+        String title = ColorUtils.translateColorCodes(section.getString("title", ""));
+        return new SidebarLayout(title, lines, serverSlots.size());
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    String[] getLineNames() {
+        return lineNames;
+    }
+
+    int size() {
+        return lines.length;
+    }
+
+    Line getLine(int index) {
+        return lines[index];
+    }
+
+    // Lines re-rendered when LuckPerms recalculates a user's data
+    int[] getRankLines() {
+        return rankLines;
+    }
+
+    ServerValues newServerValues() {
+        return new ServerValues(serverPlaceholderCount);
+    }
+
+    static final class Line {
+        private final Template text;
+        private final Template value;
+        private final long refreshTicks;
+        private final boolean sync;
+        private final boolean refreshOnRankChange;
+
+        private Line(Template text, Template value, long refreshTicks, boolean sync, boolean refreshOnRankChange) {
+            this.text = text;
+            this.value = value;
+            this.refreshTicks = refreshTicks;
+            // Lines without placeholders are free to render, no point handing them off
+            this.sync = sync || (text.isStatic() && (value == null || value.isStatic()));
+            this.refreshOnRankChange = refreshOnRankChange;
+        }
+
+        // Refresh period in ticks, 0 = only re-rendered when invalidated
+        long getRefreshTicks() {
+            return refreshTicks;
+        }
+
+        // Whether the placeholders of this line must be resolved on the main thread
+        boolean isSync() {
+            return sync;
+        }
+
+        String renderPrefix(OfflinePlayer player, ServerValues server) {
+            return text.render(player, server);
+        }
+
+        String renderSuffix(OfflinePlayer player, ServerValues server) {
+            return value != null ? value.render(player, server) : null;
+        }
+    }
+
+    /**
+     * Colorized literal segments with placeholder slots between them.
+     */
+    private static final class Template {
+        private final String[] literals;
+        private final Placeholder[] slots;
+
+        private Template(String[] literals, Placeholder[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+        }
+
+        static Template compile(String raw, Map<String, Integer> serverSlots, PlaytimeTracker playtime) {
+            List<String> literals = new ArrayList<>();
+            List<Placeholder> slots = new ArrayList<>();
+
+            int start = 0;
+            int open = raw.indexOf('%');
+            while (open != -1) {
+                int close = raw.indexOf('%', open + 1);
+                int separator = raw.indexOf('_', open + 1);
+                if (close == -1) {
+                    break;
+                }
+                if (separator == -1 || separator > close) {
+                    // Not a placeholder, the closing % may start the next one
+                    open = close;
+                    continue;
+                }
+
+                literals.add(ColorUtils.translateColorCodes(raw.substring(start, open)));
+                slots.add(Placeholder.compile(raw.substring(open + 1, close), serverSlots, playtime));
+                start = close + 1;
+                open = raw.indexOf('%', start);
+            }
+            literals.add(ColorUtils.translateColorCodes(raw.substring(start)));
+
+            return new Template(literals.toArray(new String[0]), slots.toArray(new Placeholder[0]));
+        }
+
+        boolean isStatic() {
+            return slots.length == 0;
+        }
+
+        String render(OfflinePlayer player, ServerValues server) {
+            if (slots.length == 0) {
+                return literals[0];
+            }
+
+            StringBuilder builder = new StringBuilder(64);
+            for (int i = 0; i < slots.length; i++) {
+                builder.append(literals[i]).append(slots[i].resolve(player, server));
+            }
+            return builder.append(literals[slots.length]).toString();
+        }
+    }
+
+    private static final class Placeholder {
+        private final String raw;
+        private final String identifier;
+        private final String params;
+        private final int serverIndex;
+        private final PlaytimeTracker playtime;
+        private final TimeUnit playtimeUnit;
+
+        private Placeholder(String raw, String identifier, String params, int serverIndex,
+                            PlaytimeTracker playtime, TimeUnit playtimeUnit) {
+            this.raw = raw;
+            this.identifier = identifier;
+            this.params = params;
+            this.serverIndex = serverIndex;
+            this.playtime = playtime;
+            this.playtimeUnit = playtimeUnit;
+        }
+
+        static Placeholder compile(String name, Map<String, Integer> serverSlots, PlaytimeTracker playtime) {
+            int separator = name.indexOf('_');
+            String identifier = name.substring(0, separator).toLowerCase(Locale.ROOT);
+            String params = name.substring(separator + 1);
+
+            int serverIndex = -1;
+            if (SERVER_EXPANSIONS.contains(identifier)) {
+                Integer existing = serverSlots.get(name);
+                if (existing == null) {
+                    existing = serverSlots.size();
+                    serverSlots.put(name, existing);
+                }
+                serverIndex = existing;
+            }
+            return new Placeholder("%" + name + "%", identifier, params, serverIndex,
+                    playtime, identifier.equals("statistic") ? PLAYTIME_UNITS.get(params.toLowerCase(Locale.ROOT)) : null);
+        }
+
+        String resolve(OfflinePlayer player, ServerValues server) {
+            if (playtimeUnit != null) {
+                long millis = playtime.getPlaytime(player);
+                return millis >= 0 ? String.valueOf(PlaytimeTracker.part(millis, playtimeUnit)) : "0";
+            }
+            return serverIndex >= 0 ? server.get(serverIndex, this) : request(player);
+        }
+
+        // Goes straight to the expansion instead of having PlaceholderAPI scan the text again
+        String request(OfflinePlayer player) {
+            PlaceholderExpansion expansion = PlaceholderAPIPlugin.getInstance()
+                    .getLocalExpansionManager().getExpansion(identifier);
+            String value = expansion != null ? expansion.onRequest(player, params) : null;
+            return value != null ? value : raw;
+        }
+    }
+
+    /**
+     * Server-wide placeholder values, resolved at most once per refresh cycle and
+     * shared by every board. Read from the async resolver as well, hence synchronized.
+     */
+    static final class ServerValues {
+        private final String[] values;
+
+        private ServerValues(int size) {
+            this.values = new String[size];
+        }
+
+        private synchronized String get(int index, Placeholder placeholder) {
+            if (values[index] == null) {
+                values[index] = placeholder.request(null);
+            }
+            return values[index];
+        }
+    }
+}
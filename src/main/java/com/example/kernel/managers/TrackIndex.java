@@ -0,0 +1,115 @@
+package com.example.kernel.managers;
+
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.event.track.TrackCreateEvent;
+import net.luckperms.api.event.track.TrackDeleteEvent;
+import net.luckperms.api.event.track.TrackLoadAllEvent;
+import net.luckperms.api.event.track.TrackLoadEvent;
+import net.luckperms.api.event.track.mutate.TrackMutateEvent;
+import net.luckperms.api.track.Track;
+
+import com.example.kernel.Kernel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The position of every group on every LuckPerms track, so finding where a
+ * player is on a track is a map lookup instead of a scan of its groups. Rebuilt as a whole
+ * whenever LuckPerms loads or changes a track and swapped in at once, so it
+ * can be read from any thread.
+ */
+public class TrackIndex {
+    private final LuckPerms luckPerms;
+    private volatile Map<String, TrackGroups> tracks = Collections.emptyMap();
+
+    public TrackIndex(Kernel plugin, LuckPerms luckPerms) {
+        this.luckPerms = luckPerms;
+        rebuild();
+
+        luckPerms.getEventBus().subscribe(plugin, TrackCreateEvent.class, event -> rebuild());
+        luckPerms.getEventBus().subscribe(plugin, TrackDeleteEvent.class, event -> rebuild());
+        luckPerms.getEventBus().subscribe(plugin, TrackLoadEvent.class, event -> rebuild());
+        luckPerms.getEventBus().subscribe(plugin, TrackLoadAllEvent.class, event -> rebuild());
+        luckPerms.getEventBus().subscribe(plugin, TrackMutateEvent.class, event -> rebuild());
+    }
+
+    public boolean hasTrack(String track) {
+        return tracks.containsKey(track.toLowerCase(Locale.ROOT));
+    }
+
+    public List<String> getTracks() {
+        return new ArrayList<>(tracks.keySet());
+    }
+
+    /**
+     * @return The position of the group on the track counted from 0, or -1 if it is not on it
+     */
+    public int position(String track, String group) {
+        TrackGroups trackGroups = tracks.get(track.toLowerCase(Locale.ROOT));
+        return trackGroups != null ? trackGroups.positions.getOrDefault(group.toLowerCase(Locale.ROOT), -1) : -1;
+    }
+
+    /**
+     * @return The group at the position on the track, or null if that is past either end of it
+     */
+    public String group(String track, int position) {
+        TrackGroups trackGroups = tracks.get(track.toLowerCase(Locale.ROOT));
+        if (trackGroups == null || position < 0 || position >= trackGroups.groups.size()) {
+            return null;
+        }
+        return trackGroups.groups.get(position);
+    }
+
+    /**
+     * @return True if some track holds the group
+     */
+    public boolean isOnTrack(String group) {
+        String key = group.toLowerCase(Locale.ROOT);
+        for (TrackGroups trackGroups : tracks.values()) {
+            if (trackGroups.positions.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return True if some track holds both groups
+     */
+    public boolean shareTrack(String first, String second) {
+        String firstKey = first.toLowerCase(Locale.ROOT);
+        String secondKey = second.toLowerCase(Locale.ROOT);
+        for (TrackGroups trackGroups : tracks.values()) {
+            if (trackGroups.positions.containsKey(firstKey) && trackGroups.positions.containsKey(secondKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Events come from the LuckPerms threads, only one rebuild swaps in at a time
+    private synchronized void rebuild() {
+        Map<String, TrackGroups> newTracks = new HashMap<>();
+        for (Track track : luckPerms.getTrackManager().getLoadedTracks()) {
+            newTracks.put(track.getName().toLowerCase(Locale.ROOT), new TrackGroups(track.getGroups()));
+        }
+        tracks = newTracks;
+    }
+
+    private static final class TrackGroups {
+        private final List<String> groups;
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        private TrackGroups(List<String> groups) {
+            this.groups = new ArrayList<>(groups);
+            for (int i = 0; i < this.groups.size(); i++) {
+                positions.put(this.groups.get(i).toLowerCase(Locale.ROOT), i);
+            }
+        }
+    }
+}
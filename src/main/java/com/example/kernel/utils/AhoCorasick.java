@@ -0,0 +1,183 @@
+package com.example.kernel.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive multi-pattern matcher. All patterns are compiled into one
+ * automaton, so scanning a text takes time linear in its length no matter how
+ * many patterns there are. Every pattern carries a kind bit, and a match
+ * reports the longest pattern of each kind ending at that position.
+ * Immutable once built, so it can be shared by any number of threads.
+ */
+public final class AhoCorasick {
+    // Per state: sorted transition chars, their target states, the failure link,
+    // the kinds ending here and the longest pattern ending here per kind bit
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[] kinds;
+    private final int[][] lengths;
+
+    private AhoCorasick(char[][] keys, int[][] targets, int[] fail, int[] kinds, int[][] lengths) {
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.kinds = kinds;
+        this.lengths = lengths;
+    }
+
+    public interface MatchHandler {
+        /**
+         * @param end    Index of the last char of the match
+         * @param kind   Kind bit of the pattern
+         * @param length Length of the longest pattern of that kind ending at end
+         * @return false to stop scanning
+         */
+        boolean onMatch(int end, int kind, int length);
+    }
+
+    /**
+     * Scans the text once, calling the handler for every kind of pattern that
+     * ends at each position.
+     */
+    public void scan(CharSequence text, MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = step(state, c)) == -1 && state != 0) {
+                state = fail[state];
+            }
+            state = next == -1 ? 0 : next;
+
+            for (int remaining = kinds[state]; remaining != 0; remaining &= remaining - 1) {
+                int bit = Integer.numberOfTrailingZeros(remaining);
+                if (!handler.onMatch(i, 1 << bit, lengths[state][bit])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The kind bits of every pattern found anywhere in the text
+     */
+    public int find(CharSequence text) {
+        final int[] found = new int[1];
+        scan(text, (end, kind, length) -> {
+            found[0] |= kind;
+            return true;
+        });
+        return found[0];
+    }
+
+    private int step(int state, char c) {
+        int index = Arrays.binarySearch(keys[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        private final List<Integer> kinds = new ArrayList<>();
+        private final List<int[]> lengths = new ArrayList<>();
+
+        private Builder() {
+            newState();
+        }
+
+        /**
+         * @param kind A single bit, 1 &lt;&lt; 0 to 1 &lt;&lt; 7
+         */
+        public Builder add(String pattern, int kind) {
+            if (Integer.bitCount(kind) != 1 || kind > 1 << 7) {
+                throw new IllegalArgumentException("Kind must be a single bit below 1 << 8");
+            }
+            if (pattern.isEmpty()) {
+                return this;
+            }
+
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = Character.toLowerCase(pattern.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = newState();
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+
+            int bit = Integer.numberOfTrailingZeros(kind);
+            kinds.set(state, kinds.get(state) | kind);
+            lengths.get(state)[bit] = Math.max(lengths.get(state)[bit], pattern.length());
+            return this;
+        }
+
+        public AhoCorasick build() {
+            int size = trie.size();
+            char[][] keys = new char[size][];
+            int[][] targets = new int[size][];
+            int[] fail = new int[size];
+            int[] kindArray = new int[size];
+            int[][] lengthArray = lengths.toArray(new int[0][]);
+
+            for (int state = 0; state < size; state++) {
+                TreeMap<Character, Integer> edges = trie.get(state);
+                keys[state] = new char[edges.size()];
+                targets[state] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    keys[state][i] = edge.getKey();
+                    targets[state][i] = edge.getValue();
+                    i++;
+                }
+                kindArray[state] = kinds.get(state);
+            }
+
+            // Breadth first, so the failure target of a state is always done before it
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[0]) {
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < keys[state].length; i++) {
+                    char c = keys[state][i];
+                    int child = targets[state][i];
+
+                    int candidate = fail[state];
+                    int index;
+                    while ((index = Arrays.binarySearch(keys[candidate], c)) < 0 && candidate != 0) {
+                        candidate = fail[candidate];
+                    }
+                    fail[child] = index >= 0 ? targets[candidate][index] : 0;
+                    // Patterns ending at the failure target end here too
+                    kindArray[child] |= kindArray[fail[child]];
+                    for (int bit = 0; bit < 8; bit++) {
+                        lengthArray[child][bit] = Math.max(lengthArray[child][bit], lengthArray[fail[child]][bit]);
+                    }
+                    queue.add(child);
+                }
+            }
+
+            return new AhoCorasick(keys, targets, fail, kindArray, lengthArray);
+        }
+
+        private int newState() {
+            trie.add(new TreeMap<>());
+            kinds.add(0);
+            lengths.add(new int[8]);
+            return trie.size() - 1;
+        }
+    }
+}
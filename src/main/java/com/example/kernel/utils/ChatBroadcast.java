@@ -0,0 +1,87 @@
+package com.example.kernel.utils;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Sends one chat message to many players. With packetevents installed the
+ * message is encoded into a packet once and the same bytes are written to
+ * every recipient; otherwise each player gets it through the Spigot API.
+ * Multiple lines are sent as a single message, so each player gets one packet
+ * however many lines there are. Players who turned chat off in their client
+ * settings are left out, like the server itself would.
+ */
+public final class ChatBroadcast {
+
+    private ChatBroadcast() {
+    }
+
+    /**
+     * Starts following the clients' chat settings, when packetevents is installed.
+     */
+    public static void enable() {
+        if (Holder.PACKETS) {
+            PacketChat.enable();
+        }
+    }
+
+    public static void disable() {
+        if (Holder.PACKETS) {
+            PacketChat.disable();
+        }
+    }
+
+    /**
+     * Sends the lines to every online player as one message, and logs the
+     * non-blank ones to the console like Bukkit.broadcastMessage would.
+     *
+     * @param lines Legacy formatted text, may contain line breaks itself
+     */
+    public static void broadcastLines(String... lines) {
+        send(Bukkit.getOnlinePlayers(), TextComponent.fromLegacyText(String.join("\n", lines)));
+
+        for (String line : lines) {
+            if (!line.trim().isEmpty()) {
+                Bukkit.getConsoleSender().sendMessage(line);
+            }
+        }
+    }
+
+    /**
+     * Sends a system message, left out only for players who hid chat completely.
+     */
+    public static void send(Collection<? extends Player> recipients, BaseComponent... message) {
+        send(recipients, false, message);
+    }
+
+    /**
+     * Sends a message written by a player, left out for players who set chat
+     * to commands only or hid it.
+     */
+    public static void sendChat(Collection<? extends Player> recipients, BaseComponent... message) {
+        send(recipients, true, message);
+    }
+
+    private static void send(Collection<? extends Player> recipients, boolean chat, BaseComponent[] message) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        if (Holder.PACKETS) {
+            PacketChat.send(recipients, chat, message);
+            return;
+        }
+        for (Player recipient : recipients) {
+            recipient.spigot().sendMessage(message);
+        }
+    }
+
+    // Checked on first use, after packetevents has been enabled
+    private static final class Holder {
+        private static final boolean PACKETS = Bukkit.getPluginManager().isPluginEnabled("packetevents");
+    }
+}
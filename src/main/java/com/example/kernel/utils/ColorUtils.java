@@ -1,38 +1,129 @@
 package com.example.kernel.utils;
 
-import org.bukkit.ChatColor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ColorUtils {
 
-    static public final String WITH_DELIMITER = "((?<=%1$s)|(?=%1$s))";
+    private static final char COLOR_CHAR = '§';
+    private static final String LEGACY_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+
+    // Translated constant text by input. Only filled up to cacheSize and never
+    // evicted, the constant strings of the plugin fit easily.
+    private static final Map<String, String> cache = new ConcurrentHashMap<>();
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong cacheMisses = new AtomicLong();
+    private static volatile int cacheSize;
 
     /**
      * @param text The string of text to apply color/effects to
      * @return Returns a string of text with color/effects applied
      */
-    
+
     public static String translateColorCodes(String text){
+        int start = text.indexOf('&');
+        return start == -1 ? text : translate(text, start);
+    }
 
-        String[] texts = text.split(String.format(WITH_DELIMITER, "&"));
+    /**
+     * Same as translateColorCodes, but remembers the result. Only for text that
+     * is the same on every call, such as fixed messages; text containing names
+     * or values would only push the fixed strings out.
+     */
+    public static String translateCached(String text) {
+        int start = text.indexOf('&');
+        if (start == -1) {
+            return text;
+        }
 
-        StringBuilder finalText = new StringBuilder();
+        String translated = cache.get(text);
+        if (translated != null) {
+            cacheHits.incrementAndGet();
+            return translated;
+        }
 
-        for (int i = 0; i < texts.length; i++){
-            if (texts[i].equalsIgnoreCase("&")) {
-                //get the next string
-                i++;
-                if (texts[i].charAt(0) == '#') {
-                    finalText.append(net.md_5.bungee.api.ChatColor.of(texts[i].substring(0, 7)) + texts[i].substring(7));
-                } else {
-                    finalText.append(ChatColor.translateAlternateColorCodes('&', "&" + texts[i]));
+        cacheMisses.incrementAndGet();
+        translated = translate(text, start);
+        if (cache.size() < cacheSize) {
+            cache.put(text, translated);
+        }
+        return translated;
+    }
+
+    /**
+     * Sets how many translated constant strings are kept. 0 disables the cache.
+     */
+    public static void setCacheSize(int size) {
+        cacheSize = Math.max(0, size);
+        cache.clear();
+    }
+
+    public static int getCacheSize() {
+        return cacheSize;
+    }
+
+    public static int getCachedCount() {
+        return cache.size();
+    }
+
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    private static String translate(String text, int start) {
+        // &#rrggbb (8 chars) becomes §x§r§r§g§g§b§b (14 chars), so twice the input always fits
+        char[] out = new char[text.length() * 2];
+        text.getChars(0, start, out, 0);
+        int length = start;
+
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '&' || i + 1 == text.length()) {
+                out[length++] = c;
+                continue;
+            }
+
+            char code = text.charAt(i + 1);
+            if (code == '#' && isHexColor(text, i + 2)) {
+                out[length++] = COLOR_CHAR;
+                out[length++] = 'x';
+                for (int j = i + 2; j < i + 8; j++) {
+                    out[length++] = COLOR_CHAR;
+                    out[length++] = text.charAt(j);
                 }
+                i += 7;
+            } else if (LEGACY_CODES.indexOf(code) != -1) {
+                out[length++] = COLOR_CHAR;
+                out[length++] = Character.toLowerCase(code);
+                i++;
+            } else if (code == '&') {
+                // && is left as is and the second & never starts a code
+                out[length++] = '&';
+                out[length++] = '&';
+                i++;
             } else {
-                finalText.append(texts[i]);
+                out[length++] = c;
             }
         }
 
-        return finalText.toString();
+        return new String(out, 0, length);
     }
 
-}
+    private static boolean isHexColor(String text, int start) {
+        if (start + 6 > text.length()) {
+            return false;
+        }
+        for (int i = start; i < start + 6; i++) {
+            if (Character.digit(text.charAt(i), 16) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
 
+}
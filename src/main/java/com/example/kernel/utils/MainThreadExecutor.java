@@ -0,0 +1,27 @@
+package com.example.kernel.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs tasks on the server thread, for the last stage of an async chain that
+ * has to touch Bukkit. Tasks submitted from the server thread run right away.
+ */
+public final class MainThreadExecutor implements Executor {
+    private final Plugin plugin;
+
+    public MainThreadExecutor(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.kernel.utils;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Every message sent by the plugin. Templates may use {prefix}, {primary},
+ * {secondary} and {0}, {1}... for arguments, and are colorized once when
+ * compiled, so sending only fills in the arguments. Arguments are inserted as
+ * is and never colorized.
+ */
+public enum Message {
+    // Shared
+    PLAYER_NOT_FOUND("{prefix}&7Player not found: {primary}{0}"),
+    CONSOLE_NEEDS_PLAYER("{prefix}&cConsole must specify a player."),
+    USAGE("{prefix}&7Usage: {primary}{0}"),
+    PLAYER_ONLY("{prefix}&cOnly players can use this command."),
+    ENABLED("&aenabled."),
+    DISABLED("&cdisabled."),
+
+    // /kernel
+    CONFIG_RELOADED("{prefix}&7Reloaded the {primary}config&7."),
+    LAYOUT_INVALID("{prefix}&cThe scoreboard layout is invalid, kept the current one. See the console for details."),
+
+    // /chat
+    CHAT_MUTED("{prefix}&7Chat is currently muted."),
+    CHAT_SLOW_WAIT("{prefix}&7Wait {primary}{0} &7seconds before sending another message."),
+    CHAT_LINK_BLOCKED("{prefix}&7Links are not allowed in chat."),
+    CHAT_DUPLICATE("{prefix}&7Please don't repeat the same message."),
+
+    // /channel
+    CHANNEL_CURRENT("{prefix}&7You are talking in {primary}{0}&7."),
+    CHANNEL_SWITCHED("{prefix}&7You are now talking in {primary}{0}&7."),
+    CHANNEL_NO_PERMISSION("{prefix}&7You can't talk in {primary}{0}&7."),
+    CHANNEL_NOBODY_NEARBY("{prefix}&7Nobody is close enough to hear you."),
+    CHANNEL_TAG_STAFF("&c[Staff] "),
+    CHANNEL_TAG_LOCAL("&a[Local] "),
+
+    // /playtime
+    PLAYTIME_TOP_HEADER("{prefix}&7Top playtime {primary}(page {0}/{1})&7:"),
+    PLAYTIME_TOP_LINE("&8#{0} {primary}{1} &7- {2}"),
+    PLAYTIME_TOP_EMPTY("{prefix}&7No playtime has been recorded yet."),
+
+    // /rank
+    RANK_HELP_HEADER("{prefix}&7Available commands:"),
+    RANK_HELP_LINE("{primary}{0} &8- &7{1}"),
+    RANK_NO_PERMISSION("{prefix}&7You don't have permission to {0}."),
+    RANK_NOT_FOUND("{prefix}&7Rank {primary}{0} &7doesn't exist."),
+    RANK_TRACK_NOT_FOUND("{prefix}&7Track {primary}{0} &7not found."),
+    RANK_CHANGE_FAILED("{prefix}&7Could not change the rank: {0}"),
+    RANK_SET("{prefix}&7Set {primary}{0}&7's rank from &f{1} &7to &f{2}&7."),
+    RANK_GIVEN("{prefix}&7Gave {primary}{0} &7the rank &f{1}&7."),
+    RANK_ALREADY_HAS("{prefix}{primary}{0} &7already has the rank {primary}({1})&7."),
+    RANK_ALREADY_HIGHEST("{prefix}{primary}{0} &7is already at the highest rank {primary}({1})&7."),
+    RANK_ALREADY_LOWEST("{prefix}{primary}{0} &7is already at the lowest rank {primary}({1})&7."),
+    RANK_BULK_STARTED("{prefix}&7Setting the rank of {primary}{0} &7players..."),
+    RANK_BULK_RESOLVING("{prefix}&7Looking up players: {primary}{0}&7/{primary}{1}"),
+    RANK_BULK_PROGRESS("{prefix}{primary}{0}&7/{primary}{1} &7done, {primary}{2}&7/s"),
+    RANK_BULK_DONE("{prefix}&7Done in {primary}{0}s&7: {primary}{1} &7updated, {primary}{2} &7failed, {primary}{3} &7skipped ({primary}{4}&7/s). See the console for details."),
+    RANK_BULK_RUNNING("{prefix}&7A bulk rank update is already running."),
+    RANK_BULK_READ_FAILED("{prefix}&cCould not read the import file: {0}"),
+    RANK_IMPORT_CONSOLE_ONLY("{prefix}&cRanks can only be imported from the console."),
+
+    // /audit
+    AUDIT_HEADER("{prefix}&7Audit log of {primary}{0} &7for the last {primary}{1}&7:"),
+    AUDIT_LINE("&8» &7{0}"),
+    AUDIT_EMPTY("{prefix}&7Nothing logged for {primary}{0} &7in the last {primary}{1}&7."),
+    AUDIT_INVALID_TIME("{prefix}&7Invalid time {primary}{0}&7, use e.g. 30m, 12h or 7d."),
+
+    // /god
+    GOD_SELF("{prefix}&7God mode has been {0}"),
+    GOD_OTHER("{prefix}&7God mode for {primary}{0} &7has been {1}"),
+    GOD_TARGET("{prefix}&7Your god mode has been {0}"),
+
+    // /speed
+    SPEED_RANGE("{prefix}&7Speed must be between {primary}1 and 10."),
+    SPEED_INVALID("{prefix}&7Invalid speed value!"),
+    SPEED_SELF("{prefix}&7Set your {0} speed to {primary}{1}&7."),
+    SPEED_OTHER("{prefix}&7Set {primary}{0}&7's {1} speed to {primary}{2}&7."),
+    SPEED_TARGET("{prefix}&7Your {0} speed has been set to {primary}{1}&7."),
+
+    // /gravity
+    GRAVITY_BASE("{prefix}&7Base gravity value is {primary}0.08."),
+    GRAVITY_RANGE("{prefix}&7Gravity must be between {primary}0 and 0.16."),
+    GRAVITY_INVALID("{prefix}&7Invalid gravity value."),
+    GRAVITY_SELF("{prefix}&7Your gravity has been set to {primary}{0} &7({1})."),
+    GRAVITY_OTHER("{prefix}&7Set gravity of {primary}{0} &7to {primary}{1} &7({2})."),
+
+    // /scale
+    SCALE_RANGE("{prefix}&7Scale must be between {primary}0.01 and 10."),
+    SCALE_INVALID("{prefix}&7Invalid scale value."),
+    SCALE_SELF("{prefix}&7Your scale has been set to {primary}{0}."),
+    SCALE_OTHER("{prefix}&7Set scale of {primary}{0} &7to {primary}{1}.");
+
+    private final String defaultTemplate;
+    private volatile Template template;
+
+    Message(String defaultTemplate) {
+        this.defaultTemplate = defaultTemplate;
+        this.template = Template.compile(defaultTemplate);
+    }
+
+    /**
+     * Recompiles every message, taking the template from the section where set.
+     * Keys are the lowercase names with dashes, e.g. player-not-found.
+     *
+     * @param section The messages section of the config, may be null
+     */
+    public static void load(ConfigurationSection section) {
+        for (Message message : values()) {
+            String raw = section != null ? section.getString(message.getKey()) : null;
+            message.template = Template.compile(raw != null ? raw : message.defaultTemplate);
+        }
+    }
+
+    public String getKey() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public String format(Object... args) {
+        return template.format(args);
+    }
+
+    public void send(CommandSender sender, Object... args) {
+        sender.sendMessage(template.format(args));
+    }
+
+    private static final class Template {
+        // Colorized text around the arguments, one more than there are arguments
+        private final String[] literals;
+        private final int[] arguments;
+        private final int length;
+
+        private Template(String[] literals, int[] arguments) {
+            this.literals = literals;
+            this.arguments = arguments;
+
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.length = length;
+        }
+
+        static Template compile(String raw) {
+            // Constants are already translated, the § codes they leave pass through untouched
+            raw = raw.replace("{prefix}", Constants.PREFIX)
+                    .replace("{primary}", Constants.PRIMARY)
+                    .replace("{secondary}", Constants.SECONDARY);
+
+            List<String> literals = new ArrayList<>();
+            List<Integer> arguments = new ArrayList<>();
+            int start = 0;
+
+            for (int open = raw.indexOf('{'); open != -1; open = raw.indexOf('{', open + 1)) {
+                int close = raw.indexOf('}', open + 1);
+                if (close == -1) {
+                    break;
+                }
+
+                int index = parseIndex(raw, open + 1, close);
+                if (index == -1) {
+                    continue;
+                }
+                literals.add(ColorUtils.translateColorCodes(raw.substring(start, open)));
+                arguments.add(index);
+                start = close + 1;
+                open = close;
+            }
+            literals.add(ColorUtils.translateColorCodes(raw.substring(start)));
+
+            int[] argumentArray = new int[arguments.size()];
+            for (int i = 0; i < argumentArray.length; i++) {
+                argumentArray[i] = arguments.get(i);
+            }
+            return new Template(literals.toArray(new String[0]), argumentArray);
+        }
+
+        private static int parseIndex(String raw, int start, int end) {
+            if (start == end || end - start > 2) {
+                return -1;
+            }
+            int index = 0;
+            for (int i = start; i < end; i++) {
+                char c = raw.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                index = index * 10 + (c - '0');
+            }
+            return index;
+        }
+
+        String format(Object[] args) {
+            if (arguments.length == 0) {
+                return literals[0];
+            }
+
+            StringBuilder builder = new StringBuilder(length + 16 * arguments.length);
+            for (int i = 0; i < arguments.length; i++) {
+                builder.append(literals[i]);
+                // Missing arguments are left visible instead of failing the command
+                builder.append(arguments[i] < args.length ? args[arguments[i]] : "{" + arguments[i] + "}");
+            }
+            return builder.append(literals[arguments.length]).toString();
+        }
+    }
+}
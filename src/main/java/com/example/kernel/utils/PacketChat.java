@@ -0,0 +1,152 @@
+package com.example.kernel.utils;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketListener;
+import com.github.retrooper.packetevents.event.PacketListenerCommon;
+import com.github.retrooper.packetevents.event.PacketListenerPriority;
+import com.github.retrooper.packetevents.event.PacketReceiveEvent;
+import com.github.retrooper.packetevents.event.UserDisconnectEvent;
+import com.github.retrooper.packetevents.manager.player.PlayerManager;
+import com.github.retrooper.packetevents.manager.protocol.ProtocolManager;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.wrapper.configuration.client.WrapperConfigClientSettings;
+import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientSettings;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSystemChatMessage;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The packetevents side of {@link ChatBroadcast}, kept apart so nothing here is
+ * loaded when packetevents is not installed.
+ */
+final class PacketChat {
+    // The chat setting each client last sent, written on the netty threads
+    private static final Map<UUID, Visibility> VISIBILITY = new ConcurrentHashMap<>();
+    private static PacketListenerCommon listener;
+
+    private PacketChat() {
+    }
+
+    static void enable() {
+        listener = PacketEvents.getAPI().getEventManager().registerListener(new SettingsListener(), PacketListenerPriority.MONITOR);
+    }
+
+    static void disable() {
+        if (listener != null) {
+            PacketEvents.getAPI().getEventManager().unregisterListener(listener);
+            listener = null;
+        }
+        VISIBILITY.clear();
+    }
+
+    /**
+     * @param chat True for player chat, which clients only show with chat fully on; false for system messages
+     */
+    static void send(Collection<? extends Player> recipients, boolean chat, BaseComponent[] message) {
+        // Sending the packet by hand skips the server's own chat setting check, so it is done here first
+        List<Player> visible = new ArrayList<>(recipients.size());
+        for (Player recipient : recipients) {
+            Visibility visibility = VISIBILITY.get(recipient.getUniqueId());
+            if (visibility == null) {
+                // Settings not seen yet, e.g. joined before the plugin was enabled
+                recipient.spigot().sendMessage(message);
+            } else if (visibility.shows(chat)) {
+                visible.add(recipient);
+            }
+        }
+
+        // Not worth encoding by hand for a single player
+        if (visible.size() <= 1) {
+            for (Player recipient : visible) {
+                recipient.spigot().sendMessage(message);
+            }
+            return;
+        }
+
+        Component component = GsonComponentSerializer.gson().deserialize(ComponentSerializer.toString(message));
+        WrapperPlayServerSystemChatMessage packet = new WrapperPlayServerSystemChatMessage(false, component);
+        PlayerManager playerManager = PacketEvents.getAPI().getPlayerManager();
+        ProtocolManager protocolManager = PacketEvents.getAPI().getProtocolManager();
+
+        // Encoded for the first recipient with a channel; the server speaks one protocol version
+        Object buffer = null;
+        try {
+            for (Player recipient : visible) {
+                Object channel = playerManager.getChannel(recipient);
+                if (channel == null) {
+                    // Not injected yet, e.g. still logging in
+                    recipient.spigot().sendMessage(message);
+                    continue;
+                }
+
+                if (buffer == null) {
+                    packet.prepareForSend(channel, true);
+                    buffer = packet.getBuffer();
+                }
+                // A write releases the buffer it is given, so every recipient gets its own view of the same bytes
+                protocolManager.sendPacket(channel, ByteBufHelper.retainedDuplicate(buffer));
+            }
+        } finally {
+            if (buffer != null) {
+                ByteBufHelper.release(buffer);
+            }
+        }
+    }
+
+    // Matches the client's Chat setting: Shown, Commands Only, Hidden
+    private enum Visibility {
+        FULL, SYSTEM, HIDDEN;
+
+        private boolean shows(boolean chat) {
+            return this == FULL || (this == SYSTEM && !chat);
+        }
+
+        // By name, the play and configuration wrappers may not share one enum
+        private static Visibility of(Enum<?> visibility) {
+            try {
+                return valueOf(visibility.name());
+            } catch (IllegalArgumentException e) {
+                return FULL;
+            }
+        }
+    }
+
+    private static final class SettingsListener implements PacketListener {
+        @Override
+        public void onPacketReceive(PacketReceiveEvent event) {
+            Enum<?> visibility;
+            if (event.getPacketType() == PacketType.Play.Client.CLIENT_SETTINGS) {
+                visibility = new WrapperPlayClientSettings(event).getChatVisibility();
+            } else if (event.getPacketType() == PacketType.Configuration.Client.CLIENT_SETTINGS) {
+                visibility = new WrapperConfigClientSettings(event).getChatVisibility();
+            } else {
+                return;
+            }
+
+            UUID uuid = event.getUser().getUUID();
+            if (uuid != null && visibility != null) {
+                VISIBILITY.put(uuid, Visibility.of(visibility));
+            }
+        }
+
+        @Override
+        public void onUserDisconnect(UserDisconnectEvent event) {
+            User user = event.getUser();
+            if (user.getUUID() != null) {
+                VISIBILITY.remove(user.getUUID());
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.kernel.utils;
+
+import org.bukkit.ChatColor;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Checks the single-pass ColorUtils against the regex based implementation it
+ * replaced and times both. Plain main class, run it with the test classpath:
+ *
+ * <pre>mvn test-compile exec:java -Dexec.mainClass=com.example.kernel.utils.ColorUtilsBenchmark -Dexec.classpathScope=test</pre>
+ */
+public final class ColorUtilsBenchmark {
+    private static final int RANDOM_INPUTS = 2_000_000;
+    private static final int CALLS = 1_000_000;
+    private static final String[] SAMPLES = {
+        "&8[&#ffd769Kernel&8] &7You are now in &#ffd769god mode&7.",
+        "&7Online Players: &#ffd769%server_online%",
+        "plain chat message without codes at all"
+    };
+
+    private static int sink;
+
+    private ColorUtilsBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        // Measures the translation itself, not cache lookups
+        ColorUtils.setCacheSize(0);
+        checkEquivalence();
+
+        for (String sample : SAMPLES) {
+            for (int warmup = 0; warmup < 5; warmup++) {
+                time(sample, true);
+                time(sample, false);
+            }
+            System.out.printf(Locale.ROOT, "%-58s old %6.0f ns  new %5.0f ns%n",
+                    sample, time(sample, true), time(sample, false));
+        }
+    }
+
+    // Random text over the characters that matter; inputs the old code threw on are skipped
+    private static void checkEquivalence() {
+        Random random = new Random(1);
+        String alphabet = "&&#aF09gxXkK rR§z";
+        int checked = 0;
+        int threw = 0;
+
+        for (int n = 0; n < RANDOM_INPUTS; n++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int i = 0; i < length; i++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String input = builder.toString();
+
+            String expected;
+            try {
+                expected = translateOld(input);
+            } catch (RuntimeException e) {
+                threw++;
+                continue;
+            }
+            String actual = ColorUtils.translateColorCodes(input);
+            if (!expected.equals(actual)) {
+                throw new AssertionError("Mismatch for [" + input + "]: expected [" + expected + "] but got [" + actual + "]");
+            }
+            checked++;
+        }
+        System.out.println("Identical output on " + checked + " inputs, " + threw + " threw in the old implementation");
+    }
+
+    private static double time(String input, boolean old) {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += (old ? translateOld(input) : ColorUtils.translateColorCodes(input)).length();
+        }
+        return (System.nanoTime() - start) / (double) CALLS;
+    }
+
+    // ColorUtils.translateColorCodes before the single-pass rewrite
+    private static String translateOld(String text) {
+        String[] texts = text.split(String.format("((?<=%1$s)|(?=%1$s))", "&"));
+        StringBuilder finalText = new StringBuilder();
+
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i].equalsIgnoreCase("&")) {
+                i++;
+                if (texts[i].charAt(0) == '#') {
+                    finalText.append(net.md_5.bungee.api.ChatColor.of(texts[i].substring(0, 7)) + texts[i].substring(7));
+                } else {
+                    finalText.append(ChatColor.translateAlternateColorCodes('&', "&" + texts[i]));
+                }
+            } else {
+                finalText.append(texts[i]);
+            }
+        }
+        return finalText.toString();
+    }
+}